@@ -0,0 +1,46 @@
+package minesweeper.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Size and modification time of a file, or the "missing" stamp.
+ *
+ * GameHistoryLogic and UserRepository keep the stamp of each file they last
+ * read or wrote, and only parse the file again once its stamp changes.
+ */
+final class FileStamp {
+
+    static final FileStamp MISSING = new FileStamp(-1, -1);
+
+    private final long size;
+    private final long modified;
+
+    private FileStamp(long size, long modified) {
+        this.size = size;
+        this.modified = modified;
+    }
+
+    static FileStamp of(Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStamp(attrs.size(), attrs.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return MISSING;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof FileStamp)) return false;
+        FileStamp other = (FileStamp) o;
+        return size == other.size && modified == other.modified;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(size) * 31 + Long.hashCode(modified);
+    }
+}
@@ -7,38 +7,122 @@ import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import minesweeper.model.GameSession;
+import minesweeper.model.HistoryStatistics;
 import minesweeper.model.HistoryFilterStrategy.HistoryFilterStrategy;
+import minesweeper.model.HistoryFilterStrategy.HistoryIndex;
 import minesweeper.model.HistoryFilterStrategy.HistorySortStrategy;
 
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-
+import java.util.function.Consumer;
+
+/**
+ * Game history persistence.
+ *
+ * Storage is split in two files under ~/.minesweeper:
+ * - history.json    : snapshot in the original {"users":{name:{"history":[...]}}}
+ *                     layout, plus the seq of the last journal entry folded in
+ * - history.journal : append-only log of games saved since (see HistoryJournal)
+ *
+ * The snapshot can optionally be kept in the binary column format instead
+ * (history.bin, see HistoryColumnStore); while that file exists it replaces
+ * history.json. setBinarySnapshot switches between the two, and
+ * exportBinaryHistory / importBinaryHistory convert in either direction.
+ *
+ * Saving a game appends one journal line instead of rewriting history.json.
+ * Once the journal holds as many games as the snapshot (and at least
+ * MIN_COMPACTION_RECORDS), it is compacted into a new snapshot, which is
+ * written to a temp file and atomically moved into place. Compaction cost is
+ * therefore amortized to a constant per save.
+ *
+ * Reads are served from an in-memory snapshot (getAllHistory). Saving a game
+ * appends to it; the files are only parsed again when their size or
+ * modification time no longer match what this process last wrote or read,
+ * i.e. when something else changed them. That check is itself throttled to
+ * once every STAT_INTERVAL_MS.
+ */
 public class GameHistoryLogic {
 
     private static GameHistoryLogic instance;
     private final List<GameHistory> historyList = new ArrayList<>();
     private static final Path HISTORY_FILE = getHistoryPath();
 
-    private GameHistoryLogic() {}
+    private static final int MIN_COMPACTION_RECORDS = 500;
+    private static final String JOURNAL_SEQ_KEY = "journalSeq";
+    private static final String USERNAME_KEY = "username";
+
+    private final Path historyFile;
+    private final Path binaryFile;
+    private final HistoryJournal journal;
+    private volatile boolean fsyncOnCommit = true;
+    private int snapshotRecordCount = -1;   // unknown until the snapshot has been read
+
+    private static final long STAT_INTERVAL_MS = 2000;
+
+    // In-memory copy of every game, oldest first. Only ever appended to, so
+    // lists handed out earlier stay valid (see HistorySnapshot).
+    private GameHistory[] cache;
+    private HistoryIndex index;
+    private HistoryStatistics statistics;
+    private int cacheSize;
+    private FileStamp historyStamp;
+    private FileStamp binaryStamp;
+    private FileStamp journalStamp;
+    private long lastStatCheck;
+
+    private GameHistoryLogic() {
+        this(HISTORY_FILE);
+    }
 
-    public static GameHistoryLogic getInstance() {
+    private GameHistoryLogic(Path historyFile) {
+        this.historyFile = historyFile;
+        this.binaryFile = historyFile.resolveSibling("history.bin");
+        this.journal = new HistoryJournal(historyFile.resolveSibling("history.journal"));
+    }
+
+    public static synchronized GameHistoryLogic getInstance() {
         if (instance == null)
             instance = new GameHistoryLogic();
         return instance;
     }
 
-    public List<GameHistory> getHistoryFilteredSorted(
+    /**
+     * Whether every save (and compaction) is forced to disk before returning.
+     * On by default; turning it off trades crash durability for speed.
+     */
+    public void setFsyncOnCommit(boolean fsyncOnCommit) {
+        this.fsyncOnCommit = fsyncOnCommit;
+    }
+
+    /**
+     * Filtered and sorted history. Filters and sorts known to HistoryIndex are
+     * answered from its posting lists; anything else falls back to a scan.
+     */
+    public synchronized List<GameHistory> getHistoryFilteredSorted(
             HistoryFilterStrategy filter,
             HistorySortStrategy sort
     ) {
         List<GameHistory> all = getAllHistory();
 
+        int[] ids = index.query(filter, sort);
+        if (ids != null) {
+            return new IndexedHistoryList(cache, ids);
+        }
+
         var stream = all.stream();
         if (filter != null) {
             stream = stream.filter(filter::matches);
@@ -86,8 +170,116 @@ public class GameHistoryLogic {
         loadHistoryFromJSON(HISTORY_FILE);
         return historyList;
     }*/
-    public List<GameHistory> getAllHistory() {
-        return loadHistoryFromJSON();
+    /**
+     * Every saved game, oldest first, as an immutable list. Does no file I/O
+     * unless the history files were changed outside this class.
+     */
+    public synchronized List<GameHistory> getAllHistory() {
+        long now = System.currentTimeMillis();
+        boolean statDue = now - lastStatCheck >= STAT_INTERVAL_MS;
+        if (cache == null || (statDue && filesChangedOnDisk())) {
+            reloadCache();
+        }
+        return new HistorySnapshot(cache, cacheSize);
+    }
+
+    /**
+     * Stats-dialog totals for the games accepted by all given filters, merged
+     * from running aggregates (see HistoryStatistics) instead of a scan.
+     */
+    public synchronized HistoryStatistics.Summary getStatistics(HistoryFilterStrategy... filters) {
+        getAllHistory(); // make sure the aggregates are loaded and current
+        return statistics.summarize(filters);
+    }
+
+    /** Usernames that appear in the history, unsorted. */
+    public synchronized List<String> getUsernames() {
+        getAllHistory();
+        return new ArrayList<>(statistics.getUsernames());
+    }
+
+    private void reloadCache() {
+        journal.invalidate();
+        List<GameHistory> loaded = loadHistoryFromJSON();
+        cache = loaded.toArray(new GameHistory[Math.max(16, loaded.size())]);
+        cacheSize = loaded.size();
+        index = new HistoryIndex();
+        statistics = new HistoryStatistics();
+        for (GameHistory h : loaded) {
+            index.add(h);
+            statistics.add(h);
+        }
+        rememberFileStamps();
+    }
+
+    private void appendToCache(GameHistory history) {
+        if (cache == null) return; // loaded lazily on first read
+        if (cacheSize == cache.length) {
+            // new array: lists already handed out keep reading the old one
+            cache = Arrays.copyOf(cache, cache.length * 2);
+        }
+        cache[cacheSize++] = history;
+        index.add(history);
+        statistics.add(history);
+    }
+
+    private boolean filesChangedOnDisk() {
+        lastStatCheck = System.currentTimeMillis();
+        return !FileStamp.of(historyFile).equals(historyStamp)
+                || !FileStamp.of(binaryFile).equals(binaryStamp)
+                || !FileStamp.of(journal.getFile()).equals(journalStamp);
+    }
+
+    private void rememberFileStamps() {
+        historyStamp = FileStamp.of(historyFile);
+        binaryStamp = FileStamp.of(binaryFile);
+        journalStamp = FileStamp.of(journal.getFile());
+        lastStatCheck = System.currentTimeMillis();
+    }
+
+    /** Read-only list of the cache entries at the given ids, in that order. */
+    private static final class IndexedHistoryList extends AbstractList<GameHistory> {
+        private final GameHistory[] items;
+        private final int[] ids;
+
+        IndexedHistoryList(GameHistory[] items, int[] ids) {
+            this.items = items;
+            this.ids = ids;
+        }
+
+        @Override
+        public GameHistory get(int i) {
+            return items[ids[i]];
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+
+    /** Read-only view of the first {@code size} entries of a cache array. */
+    private static final class HistorySnapshot extends AbstractList<GameHistory> {
+        private final GameHistory[] items;
+        private final int size;
+
+        HistorySnapshot(GameHistory[] items, int size) {
+            this.items = items;
+            this.size = size;
+        }
+
+        @Override
+        public GameHistory get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return items[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
     }
 
 
@@ -140,59 +332,253 @@ public class GameHistoryLogic {
         }
     }*/
 
-    public void saveHistoryForUser(String username, GameHistory history) {
+    @SuppressWarnings("unchecked")
+    public synchronized void saveHistoryForUser(String username, GameHistory history) {
+        try {
+            JSONObject obj = toJsonObject(history);
+            obj.put(USERNAME_KEY, username);
+
+            // A brand new journal starts after whatever the snapshot already holds
+            boolean cacheInSync = cache != null && !filesChangedOnDisk();
+            long base = journal.needsBase() ? streamSnapshot(null) : 0;
+            journal.append(obj, fsyncOnCommit, base);
+
+            if (cacheInSync) {
+                appendToCache(new GameHistory(history.getDifficulty(), username,
+                        history.getPlayer1(), history.getPlayer2(), history.getFinalScore(),
+                        history.isCoopWin(), history.getDuration(), history.getDateTime()));
+                rememberFileStamps();
+            } else {
+                cache = null; // someone else touched the files; reload on next read
+            }
 
-        JSONParser parser = new JSONParser();
-        JSONObject root;
-        JSONObject usersObject;
+            compactIfNeeded();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
 
+    /**
+     * Folds every journal entry into history.json and empties the journal.
+     * Runs automatically from saveHistoryForUser when the journal grows as
+     * large as the snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void compactHistory() {
         try {
-            File file = HISTORY_FILE.toFile();
+            if (cache != null && filesChangedOnDisk()) cache = null;
 
-            // 1. Load or create root
-            if (file.exists() && file.length() > 0) {
-                root = (JSONObject) parser.parse(new FileReader(file));
-            } else {
-                root = new JSONObject();
+            if (isBinarySnapshot()) {
+                compactBinary();
+                return;
             }
 
-            // 2. Load or create "users"
-            usersObject = (JSONObject) root.get("users");
+            JSONObject root = readSnapshot();
+            List<JSONObject> entries = journal.readEntries(snapshotSeq(root));
+            if (entries.isEmpty()) return;
+
+            JSONObject usersObject = (JSONObject) root.get("users");
             if (usersObject == null) {
                 usersObject = new JSONObject();
                 root.put("users", usersObject);
             }
 
-            // 3. Load or create user object
-            JSONObject userObject = (JSONObject) usersObject.get(username);
+            long lastSeq = snapshotSeq(root);
+            int added = 0;
+            for (JSONObject entry : entries) {
+                lastSeq = Math.max(lastSeq, ((Number) entry.remove(HistoryJournal.SEQ_KEY)).longValue());
+                String username = (String) entry.remove(USERNAME_KEY);
+
+                JSONObject userObject = (JSONObject) usersObject.get(username);
+                if (userObject == null) {
+                    userObject = new JSONObject();
+                    userObject.put("history", new JSONArray());
+                    usersObject.put(username, userObject);
+                }
+                ((JSONArray) userObject.get("history")).add(entry);
+                added++;
+            }
+
+            // Snapshot first, then the journal: a crash in between is harmless
+            // because readers skip journal entries at or below journalSeq.
+            root.put(JOURNAL_SEQ_KEY, lastSeq);
+            writeSnapshot(root);
+            journal.reset(lastSeq, fsyncOnCommit);
+
+            if (snapshotRecordCount >= 0) snapshotRecordCount += added;
+            if (cache != null) rememberFileStamps();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void compactBinary() throws IOException {
+        List<GameHistory> games = new ArrayList<>();
+        long lastSeq = streamSnapshot(games::add);
+
+        List<JSONObject> entries = journal.readEntries(lastSeq);
+        if (entries.isEmpty()) return;
+        for (JSONObject entry : entries) {
+            lastSeq = Math.max(lastSeq, ((Number) entry.get(HistoryJournal.SEQ_KEY)).longValue());
+            games.add(parseHistoryObject(entry, (String) entry.get(USERNAME_KEY)));
+        }
+
+        HistoryColumnStore.write(binaryFile, games, lastSeq, fsyncOnCommit);
+        journal.reset(lastSeq, fsyncOnCommit);
+
+        snapshotRecordCount = games.size();
+        if (cache != null) rememberFileStamps();
+    }
+
+    // ============================
+    // BINARY FORMAT
+    // ============================
+
+    /** True while the snapshot is kept in history.bin instead of history.json. */
+    public boolean isBinarySnapshot() {
+        return Files.exists(binaryFile);
+    }
+
+    /**
+     * Moves the snapshot to the binary column format (or back to JSON). All
+     * games, including the journal, are written to the new snapshot.
+     */
+    public synchronized void setBinarySnapshot(boolean binary) {
+        if (binary == isBinarySnapshot()) return;
+        try {
+            replaceSnapshot(loadHistoryFromJSON(), binary);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Writes every game to {@code target} in the binary column format. */
+    public synchronized void exportBinaryHistory(Path target) {
+        try {
+            HistoryColumnStore.write(target, getAllHistory(), 0, fsyncOnCommit);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Replaces the whole history with the games in a binary history file,
+     * keeping the current snapshot format.
+     */
+    public synchronized void importBinaryHistory(Path source) {
+        try {
+            replaceSnapshot(HistoryColumnStore.open(source).toHistories(), isBinarySnapshot());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Makes {@code games} the complete history, stored as a binary or JSON
+     * snapshot. The new snapshot claims every journal seq written so far,
+     * so the journal can be reset afterwards; a crash at any step leaves
+     * either the old or the new history, never a mix.
+     */
+    private void replaceSnapshot(List<GameHistory> games, boolean binary) throws IOException {
+        long seq = streamSnapshot(null);
+        for (JSONObject entry : journal.readEntries(seq)) {
+            seq = Math.max(seq, ((Number) entry.get(HistoryJournal.SEQ_KEY)).longValue());
+        }
+
+        if (binary) {
+            HistoryColumnStore.write(binaryFile, games, seq, fsyncOnCommit);
+        } else {
+            writeSnapshot(toSnapshotJson(games, seq));
+            Files.deleteIfExists(binaryFile);
+        }
+        journal.reset(seq, fsyncOnCommit);
+
+        snapshotRecordCount = games.size();
+        cache = null; // reload on next read
+    }
+
+    @SuppressWarnings("unchecked")
+    private JSONObject toSnapshotJson(List<GameHistory> games, long journalSeq) {
+        JSONObject usersObject = new JSONObject();
+        for (GameHistory h : games) {
+            JSONObject userObject = (JSONObject) usersObject.get(h.getUsername());
             if (userObject == null) {
                 userObject = new JSONObject();
                 userObject.put("history", new JSONArray());
-                usersObject.put(username, userObject);
+                usersObject.put(h.getUsername(), userObject);
             }
+            ((JSONArray) userObject.get("history")).add(toJsonObject(h));
+        }
 
-            // 4. Append history
-            JSONArray historyArray = (JSONArray) userObject.get("history");
+        JSONObject root = new JSONObject();
+        root.put("users", usersObject);
+        root.put(JOURNAL_SEQ_KEY, journalSeq);
+        return root;
+    }
 
-            JSONObject obj = new JSONObject();
-            obj.put("difficulty", history.getDifficulty().name());
-            obj.put("player1", history.getPlayer1());
-            obj.put("player2", history.getPlayer2());
-            obj.put("finalScore", history.getFinalScore());
-            obj.put("coopWin", history.isCoopWin());
-            obj.put("duration", history.getDuration());
-            obj.put("dateTime", history.getDateTime().toString());
+    private void compactIfNeeded() throws Exception {
+        int journalRecords = journal.getRecordCount();
+        if (journalRecords < MIN_COMPACTION_RECORDS) return;
 
-            historyArray.add(obj);
+        if (snapshotRecordCount < 0) {
+            int[] count = {0};
+            streamSnapshot(h -> count[0]++);
+            snapshotRecordCount = count[0];
+        }
+        if (journalRecords >= snapshotRecordCount) {
+            compactHistory();
+        }
+    }
 
-            // 5. Write back to file
-            java.nio.file.Files.write(
-                    file.toPath(),
-                    root.toJSONString().getBytes()
-            );
+    @SuppressWarnings("unchecked")
+    private JSONObject toJsonObject(GameHistory history) {
+        JSONObject obj = new JSONObject();
+        obj.put("difficulty", history.getDifficulty().name());
+        obj.put("player1", history.getPlayer1());
+        obj.put("player2", history.getPlayer2());
+        obj.put("finalScore", history.getFinalScore());
+        obj.put("coopWin", history.isCoopWin());
+        obj.put("duration", history.getDuration());
+        obj.put("dateTime", history.getDateTime().toString());
+        return obj;
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+    private JSONObject readSnapshot() throws Exception {
+        if (!Files.exists(historyFile) || Files.size(historyFile) == 0) {
+            return new JSONObject();
+        }
+        try (Reader reader = Files.newBufferedReader(historyFile, StandardCharsets.UTF_8)) {
+            return (JSONObject) new JSONParser().parse(reader);
+        }
+    }
+
+    private static long snapshotSeq(JSONObject root) {
+        Object seq = root.get(JOURNAL_SEQ_KEY);
+        return seq instanceof Number ? ((Number) seq).longValue() : 0;
+    }
+
+    /** Writes the snapshot to a temp file and atomically swaps it in. */
+    private void writeSnapshot(JSONObject root) throws IOException {
+        Path tmp = historyFile.resolveSibling(historyFile.getFileName() + ".tmp");
+        byte[] bytes = root.toJSONString().getBytes(StandardCharsets.UTF_8);
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsyncOnCommit) {
+                channel.force(true);
+            }
+        }
+
+        try {
+            Files.move(tmp, historyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, historyFile, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
@@ -259,38 +645,21 @@ public class GameHistoryLogic {
         }
     }*/
 
-    public List<GameHistory> loadHistoryFromJSON() {
+    public synchronized List<GameHistory> loadHistoryFromJSON() {
 
         List<GameHistory> allHistories = new ArrayList<>();
 
         try {
-            JSONParser parser = new JSONParser();
-            JSONObject root = (JSONObject) parser.parse(new FileReader(HISTORY_FILE.toFile()));
+            long journalSeq = streamSnapshot(allHistories::add);
+            snapshotRecordCount = allHistories.size();
 
-            JSONObject usersObject = (JSONObject) root.get("users");
-            if (usersObject == null) {
-                return allHistories; // no users yet
+            // then everything saved since the last compaction
+            for (JSONObject entry : journal.readEntries(journalSeq)) {
+                allHistories.add(parseHistoryObject(entry, (String) entry.get(USERNAME_KEY)));
             }
 
-            // iterate over ALL users
-            for (Object userKey : usersObject.keySet()) {
-                String username = (String) userKey;
-                JSONObject userObject = (JSONObject) usersObject.get(username);
-
-                if (userObject == null) continue;
-
-                JSONArray historyArray = (JSONArray) userObject.get("history");
-                if (historyArray == null) continue;
-
-                // iterate over this user's history
-                for (Object obj : historyArray) {
-                    JSONObject h = (JSONObject) obj;
-                    allHistories.add(parseHistoryObject(h, username));
-                }
-                System.out.println("Loading history from: " + HISTORY_FILE.toAbsolutePath());
-                System.out.println("Loaded rows: " + allHistories.size());
-
-            }
+            System.out.println("Loading history from: " + historyFile.toAbsolutePath());
+            System.out.println("Loaded rows: " + allHistories.size());
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -299,6 +668,24 @@ public class GameHistoryLogic {
         return allHistories;
     }
 
+    /**
+     * Streams the snapshot's games to {@code sink} (null skips them) and
+     * returns its journalSeq. Reads history.bin when it exists; otherwise
+     * history.json, without building a JSON tree.
+     */
+    private long streamSnapshot(Consumer<GameHistory> sink) throws IOException {
+        if (isBinarySnapshot()) {
+            if (sink == null) return HistoryColumnStore.readJournalSeq(binaryFile);
+            HistoryColumnStore store = HistoryColumnStore.open(binaryFile);
+            for (int i = 0; i < store.rows(); i++) sink.accept(store.get(i));
+            return store.journalSeq();
+        }
+        if (!Files.exists(historyFile)) return 0;
+        try (HistoryJsonReader reader = new HistoryJsonReader(
+                new InputStreamReader(Files.newInputStream(historyFile), StandardCharsets.UTF_8))) {
+            return reader.readSnapshot(sink);
+        }
+    }
 
     private GameHistory parseHistoryObject(JSONObject h, String username) {
 
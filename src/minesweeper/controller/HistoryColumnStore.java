@@ -0,0 +1,380 @@
+package minesweeper.controller;
+
+import minesweeper.model.GameHistory;
+import minesweeper.model.GameSession;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary, column-oriented history file, loaded into one heap ByteBuffer.
+ *
+ * Every field of a game is stored in its own fixed-width column, so reading
+ * one value is a single absolute get and an aggregate over millions of games
+ * is a plain loop over one column (see {@link #totals}). The file is read
+ * with FileChannel.read rather than mapped: a mapping stays open until the
+ * buffer is garbage collected, and on Windows a mapped file can be neither
+ * replaced nor deleted, which compaction and setBinarySnapshot(false) do.
+ * Usernames, player names and any duration that is not in "mm:ss" form go
+ * to a string dictionary and are referenced by id. Nothing is lost, so a
+ * history can move between this format and history.json in both directions
+ * (see GameHistoryLogic).
+ *
+ * Layout (big-endian):
+ * <pre>
+ *  0  int   magic "MSHC"
+ *  4  int   version
+ *  8  int   rows
+ * 12  int   dictionary entries
+ * 16  long  journalSeq (same meaning as in history.json)
+ * 24  long  dictionary offset
+ * 32  byte  difficulty[rows]     Difficulty ordinal
+ *     byte  won[rows]            1 = co-op win
+ *     int   score[rows]          (columns of int/long are aligned)
+ *     int   duration[rows]       seconds; NULL_REF for none; -(id + 1) for dictionary text
+ *     int   nanos[rows]
+ *     int   username[rows]       dictionary id or NULL_REF
+ *     int   player1[rows]
+ *     int   player2[rows]
+ *     long  epochSecond[rows]    dateTime at UTC
+ *     dictionary: per entry int byte length + UTF-8 bytes
+ * </pre>
+ */
+public final class HistoryColumnStore {
+
+    private static final int MAGIC = 0x4D534843; // "MSHC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int NULL_REF = Integer.MIN_VALUE;
+
+    private final ByteBuffer data;
+    private final int rows;
+    private final long journalSeq;
+    private final String[] dictionary;
+
+    // column offsets
+    private final int difficultyAt, wonAt, scoreAt, durationAt, nanosAt, userAt, player1At, player2At, epochAt;
+
+    private HistoryColumnStore(ByteBuffer data) throws IOException {
+        this.data = data;
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary history file");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported binary history version " + data.getInt(4));
+        }
+        rows = data.getInt(8);
+        int dictionarySize = data.getInt(12);
+        journalSeq = data.getLong(16);
+        long dictionaryAt = data.getLong(24);
+
+        difficultyAt = HEADER_SIZE;
+        wonAt = difficultyAt + rows;
+        scoreAt = align(wonAt + rows, 4);
+        durationAt = scoreAt + 4 * rows;
+        nanosAt = durationAt + 4 * rows;
+        userAt = nanosAt + 4 * rows;
+        player1At = userAt + 4 * rows;
+        player2At = player1At + 4 * rows;
+        epochAt = align(player2At + 4 * rows, 8);
+
+        if (dictionaryAt != epochAt + 8L * rows || dictionaryAt > data.capacity()) {
+            throw new IOException("Corrupt binary history file");
+        }
+
+        dictionary = new String[dictionarySize];
+        int at = (int) dictionaryAt;
+        for (int i = 0; i < dictionarySize; i++) {
+            int length = data.getInt(at);
+            byte[] bytes = new byte[length];
+            data.get(at + 4, bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+            at += 4 + length;
+        }
+    }
+
+    /** Reads {@code file} into memory; the file is closed on return. */
+    public static HistoryColumnStore open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Binary history file too large: " + channel.size() + " bytes");
+            }
+            return new HistoryColumnStore(readFully(channel, (int) channel.size()));
+        }
+    }
+
+    /** journalSeq of {@code file}, reading only its header. */
+    public static long readJournalSeq(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, (int) Math.min(channel.size(), HEADER_SIZE));
+            if (header.capacity() < HEADER_SIZE || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a binary history file");
+            }
+            return header.getLong(16);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Binary history file truncated while reading");
+            }
+        }
+        return buffer;
+    }
+
+    // ==================== COLUMNS ====================
+
+    public int rows() { return rows; }
+
+    /** Last journal seq folded into this file when it is used as the snapshot. */
+    public long journalSeq() { return journalSeq; }
+
+    public GameSession.Difficulty difficulty(int row) {
+        return GameSession.Difficulty.values()[data.get(difficultyAt + row)];
+    }
+
+    public boolean won(int row) { return data.get(wonAt + row) != 0; }
+
+    public int score(int row) { return data.getInt(scoreAt + 4 * row); }
+
+    /** Duration in seconds, or -1 if it was missing or not in "mm:ss" form. */
+    public int durationSeconds(int row) {
+        int v = data.getInt(durationAt + 4 * row);
+        return v < 0 ? -1 : v;
+    }
+
+    public long epochSecond(int row) { return data.getLong(epochAt + 8 * row); }
+
+    public String username(int row) { return string(data.getInt(userAt + 4 * row)); }
+
+    public String player1(int row) { return string(data.getInt(player1At + 4 * row)); }
+
+    public String player2(int row) { return string(data.getInt(player2At + 4 * row)); }
+
+    public LocalDateTime dateTime(int row) {
+        return LocalDateTime.ofEpochSecond(epochSecond(row), data.getInt(nanosAt + 4 * row), ZoneOffset.UTC);
+    }
+
+    /** The game in {@code row}, exactly as it was written. */
+    public GameHistory get(int row) {
+        int d = data.getInt(durationAt + 4 * row);
+        String duration = d == NULL_REF ? null : d < 0 ? dictionary[-d - 1] : formatDuration(d);
+        return new GameHistory(difficulty(row), username(row), player1(row), player2(row),
+                score(row), won(row), duration, dateTime(row));
+    }
+
+    /** Every game, in row order. */
+    public List<GameHistory> toHistories() {
+        List<GameHistory> all = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) all.add(get(i));
+        return all;
+    }
+
+    private String string(int id) {
+        return id == NULL_REF ? null : dictionary[id];
+    }
+
+    // ==================== COLUMN SCANS ====================
+
+    /**
+     * Totals over the games of {@code username} at {@code difficulty} (null
+     * matches any), computed by scanning the columns; no GameHistory is built.
+     */
+    public Totals totals(String username, GameSession.Difficulty difficulty) {
+        Totals totals = new Totals();
+        int user = username == null ? NULL_REF : dictionaryId(username);
+        if (username != null && user == NULL_REF) {
+            return totals; // no game of that user
+        }
+        int level = difficulty == null ? -1 : difficulty.ordinal();
+
+        for (int row = 0; row < rows; row++) {
+            if (level >= 0 && data.get(difficultyAt + row) != level) continue;
+            if (username != null && data.getInt(userAt + 4 * row) != user) continue;
+
+            int score = data.getInt(scoreAt + 4 * row);
+            totals.games++;
+            totals.scoreSum += score;
+            totals.bestScore = Math.max(totals.bestScore, score);
+            if (data.get(wonAt + row) != 0) totals.wins++;
+            int seconds = data.getInt(durationAt + 4 * row);
+            if (seconds >= 0) {
+                totals.durationSum += seconds;
+                totals.durationCount++;
+            }
+        }
+        return totals;
+    }
+
+    /** Games per difficulty, indexed by Difficulty ordinal. */
+    public int[] countByDifficulty() {
+        int[] counts = new int[GameSession.Difficulty.values().length];
+        for (int row = 0; row < rows; row++) {
+            counts[data.get(difficultyAt + row)]++;
+        }
+        return counts;
+    }
+
+    private int dictionaryId(String s) {
+        for (int i = 0; i < dictionary.length; i++) {
+            if (dictionary[i].equals(s)) return i;
+        }
+        return NULL_REF;
+    }
+
+    /** Result of {@link #totals}. */
+    public static final class Totals {
+        private int games;
+        private int wins;
+        private long scoreSum;
+        private int bestScore = Integer.MIN_VALUE;
+        private long durationSum;
+        private int durationCount;
+
+        public int getGames() { return games; }
+        public int getWins() { return wins; }
+        public long getScoreSum() { return scoreSum; }
+
+        /** Best score, or null if there are no games. */
+        public Integer getBestScore() {
+            return games == 0 ? null : bestScore;
+        }
+
+        /** Average of the "mm:ss" durations in whole seconds, or -1 if there are none. */
+        public long getAverageDurationSeconds() {
+            return durationCount == 0 ? -1 : durationSum / durationCount;
+        }
+    }
+
+    // ==================== WRITING ====================
+
+    /**
+     * Writes {@code games} to {@code file} through a temp file that is then
+     * moved into place, so readers never see a half-written store.
+     */
+    public static void write(Path file, List<GameHistory> games, long journalSeq, boolean fsync) throws IOException {
+        int rows = games.size();
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+
+        int[] duration = new int[rows], user = new int[rows], player1 = new int[rows], player2 = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            GameHistory h = games.get(i);
+            user[i] = intern(h.getUsername(), ids, dictionary);
+            player1[i] = intern(h.getPlayer1(), ids, dictionary);
+            player2[i] = intern(h.getPlayer2(), ids, dictionary);
+
+            String text = h.getDuration();
+            int seconds = parseDuration(text);
+            if (text == null) duration[i] = NULL_REF;
+            else if (seconds >= 0 && formatDuration(seconds).equals(text)) duration[i] = seconds;
+            else duration[i] = -intern(text, ids, dictionary) - 1;
+        }
+
+        int wonAt = HEADER_SIZE + rows;
+        int scoreAt = align(wonAt + rows, 4);
+        int epochAt = align(scoreAt + 4 * 6 * rows, 8);
+        long dictionaryAt = epochAt + 8L * rows;
+        if (dictionaryAt > Integer.MAX_VALUE) {
+            throw new IOException("History too large for the binary format: " + rows + " games");
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(rows);
+            out.writeInt(dictionary.size());
+            out.writeLong(journalSeq);
+            out.writeLong(dictionaryAt);
+
+            for (GameHistory h : games) out.writeByte(h.getDifficulty().ordinal());
+            for (GameHistory h : games) out.writeByte(h.isCoopWin() ? 1 : 0);
+            pad(out, scoreAt - (wonAt + rows));
+            for (GameHistory h : games) out.writeInt(h.getFinalScore());
+            for (int v : duration) out.writeInt(v);
+            for (GameHistory h : games) out.writeInt(h.getDateTime().getNano());
+            for (int v : user) out.writeInt(v);
+            for (int v : player1) out.writeInt(v);
+            for (int v : player2) out.writeInt(v);
+            pad(out, epochAt - (scoreAt + 4 * 6 * rows));
+            for (GameHistory h : games) out.writeLong(h.getDateTime().toEpochSecond(ZoneOffset.UTC));
+
+            for (String s : dictionary) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.flush();
+            if (fsync) {
+                channel.force(true);
+            }
+        }
+
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static int intern(String s, Map<String, Integer> ids, List<String> dictionary) {
+        if (s == null) return NULL_REF;
+        Integer id = ids.get(s);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.add(s);
+            ids.put(s, id);
+        }
+        return id;
+    }
+
+    /** Seconds of an "mm:ss" duration, or -1 for anything else. */
+    private static int parseDuration(String text) {
+        if (text == null) return -1;
+        int colon = text.indexOf(':');
+        if (colon <= 0) return -1;
+        try {
+            int minutes = Integer.parseInt(text.substring(0, colon));
+            int seconds = Integer.parseInt(text.substring(colon + 1));
+            if (minutes < 0 || seconds < 0 || seconds >= 60 || minutes > Integer.MAX_VALUE / 60 - 1) return -1;
+            return minutes * 60 + seconds;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String formatDuration(int seconds) {
+        return String.format("%02d:%02d", seconds / 60, seconds % 60);
+    }
+
+    private static void pad(DataOutputStream out, int bytes) throws IOException {
+        for (int i = 0; i < bytes; i++) out.writeByte(0);
+    }
+
+    private static int align(int offset, int to) {
+        return (offset + to - 1) / to * to;
+    }
+}
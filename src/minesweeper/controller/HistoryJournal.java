@@ -0,0 +1,228 @@
+package minesweeper.controller;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only, line-delimited log of saved games, kept next to history.json.
+ *
+ * The first line is a header {@code {"journalBase":N}}; every later line is
+ * one game as a JSON object carrying a {@code "seq"} number N+1, N+2, ...
+ * Saving a game appends one line, so its cost does not depend on how much
+ * history already exists.
+ *
+ * Compaction (driven by {@link GameHistoryLogic}) folds the journal into the
+ * snapshot file, stores the last folded seq there, and then resets the journal
+ * with that seq as its new base. Readers skip entries at or below the
+ * snapshot's seq, so a crash between those two steps never replays a game.
+ *
+ * On first use the file is scanned once; a torn last line left by a crash
+ * mid-append is cut off.
+ */
+class HistoryJournal {
+
+    static final String SEQ_KEY = "seq";
+    private static final String BASE_KEY = "journalBase";
+
+    private final Path file;
+    private boolean opened;
+    private long lastSeq;
+    private int recordCount;
+
+    HistoryJournal(Path file) {
+        this.file = file;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns every entry with a seq greater than {@code afterSeq}, in append
+     * order. Unreadable lines in the middle of the file are skipped.
+     */
+    synchronized List<JSONObject> readEntries(long afterSeq) throws IOException {
+        List<JSONObject> entries = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return entries;
+        }
+        ensureOpen(afterSeq);
+
+        JSONParser parser = new JSONParser();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            JSONObject entry = parseLine(parser, line);
+            if (entry == null || !entry.containsKey(SEQ_KEY)) continue;
+            if (((Number) entry.get(SEQ_KEY)).longValue() > afterSeq) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Appends one record, stamping it with the next seq.
+     *
+     * @param record  The game to append; a "seq" key is added to it
+     * @param fsync   Force the line to disk before returning
+     * @param baseSeq Seq to start from if the journal does not exist yet
+     * @return The seq assigned to the record
+     */
+    @SuppressWarnings("unchecked")
+    synchronized long append(JSONObject record, boolean fsync, long baseSeq) throws IOException {
+        ensureOpen(baseSeq);
+
+        long seq = lastSeq + 1;
+        record.put(SEQ_KEY, seq);
+        byte[] line = (record.toJSONString() + "\n").getBytes(StandardCharsets.UTF_8);
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            writeFully(channel, ByteBuffer.wrap(line));
+            if (fsync) {
+                channel.force(false);
+            }
+        }
+
+        lastSeq = seq;
+        recordCount++;
+        return seq;
+    }
+
+    /**
+     * Empties the journal after its entries were folded into the snapshot.
+     *
+     * @param newBase Last seq contained in the snapshot
+     */
+    synchronized void reset(long newBase, boolean fsync) throws IOException {
+        writeHeader(newBase, fsync);
+        lastSeq = newBase;
+        recordCount = 0;
+        opened = true;
+    }
+
+    /** Number of games currently in the journal. */
+    synchronized int getRecordCount() throws IOException {
+        if (!Files.exists(file)) return 0;
+        ensureOpen(0);
+        return recordCount;
+    }
+
+    /**
+     * True when the journal file does not exist yet, so the first append has
+     * to be told which seq the snapshot already covers.
+     */
+    synchronized boolean needsBase() {
+        return !opened && !Files.exists(file);
+    }
+
+    /**
+     * Forgets what the first scan learned, e.g. after the file was changed by
+     * another process. The next call scans it again.
+     */
+    synchronized void invalidate() {
+        opened = false;
+    }
+
+    // ==================== INTERNAL ====================
+
+    private void ensureOpen(long baseIfMissing) throws IOException {
+        if (opened) return;
+
+        if (!Files.exists(file)) {
+            writeHeader(baseIfMissing, true);
+            lastSeq = baseIfMissing;
+            recordCount = 0;
+            opened = true;
+            return;
+        }
+
+        recover();
+        opened = true;
+    }
+
+    /**
+     * Scans the whole journal: reads the base, counts records, and truncates
+     * the file after the last complete, parseable line if the tail is torn.
+     */
+    private void recover() throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        JSONParser parser = new JSONParser();
+
+        lastSeq = 0;
+        recordCount = 0;
+        long goodLength = 0;
+        int lineStart = 0;
+
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') continue;
+
+            String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+            JSONObject entry = parseLine(parser, line);
+            if (entry != null) {
+                if (entry.containsKey(BASE_KEY)) {
+                    lastSeq = Math.max(lastSeq, ((Number) entry.get(BASE_KEY)).longValue());
+                } else if (entry.containsKey(SEQ_KEY)) {
+                    lastSeq = Math.max(lastSeq, ((Number) entry.get(SEQ_KEY)).longValue());
+                    recordCount++;
+                }
+                goodLength = i + 1;
+            } else if (line.isBlank()) {
+                goodLength = i + 1;
+            } else {
+                System.err.println("Skipping unreadable history journal line: " + line);
+            }
+            lineStart = i + 1;
+        }
+
+        // Anything after the last newline was never completely written
+        if (goodLength < bytes.length) {
+            System.err.println("Truncating torn history journal tail ("
+                    + (bytes.length - goodLength) + " bytes)");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(goodLength);
+                channel.force(true);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeHeader(long base, boolean fsync) throws IOException {
+        JSONObject header = new JSONObject();
+        header.put(BASE_KEY, base);
+        byte[] line = (header.toJSONString() + "\n").getBytes(StandardCharsets.UTF_8);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.wrap(line));
+            if (fsync) {
+                channel.force(true);
+            }
+        }
+    }
+
+    private static JSONObject parseLine(JSONParser parser, String line) {
+        if (line.isBlank()) return null;
+        try {
+            Object parsed = parser.parse(line);
+            return parsed instanceof JSONObject ? (JSONObject) parsed : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package minesweeper.controller;
+
+import minesweeper.model.GameHistory;
+import minesweeper.model.GameSession;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Pull parser for history.json that decodes games straight into
+ * {@link GameHistory} objects.
+ *
+ * Unlike JSONParser it never builds the document tree: characters are pulled
+ * through a fixed buffer, one game's fields are held at a time, scores are
+ * read as primitives and the usual LocalDateTime.toString() timestamps are
+ * decoded by hand. Peak memory is the buffer plus the games themselves.
+ *
+ * Expected layout (unknown keys anywhere are skipped):
+ * {"users": {"name": {"history": [ {game}, ... ]}, ...}, "journalSeq": N}
+ */
+final class HistoryJsonReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 15;
+
+    private final Reader in;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private final StringBuilder scratch = new StringBuilder(64);
+
+    HistoryJsonReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the whole snapshot, handing every game to {@code sink} in file
+     * order. A null sink skips the games.
+     *
+     * @return The "journalSeq" value, or 0 when the file has none
+     */
+    long readSnapshot(Consumer<GameHistory> sink) throws IOException {
+        long journalSeq = 0;
+
+        if (peekToken() == -1) return 0; // empty file
+        expect('{');
+        if (!consumeIf('}')) {
+            do {
+                String key = readString();
+                expect(':');
+                if ("users".equals(key) && sink != null) {
+                    readUsers(sink);
+                } else if ("journalSeq".equals(key) && peekToken() != 'n') {
+                    journalSeq = readLong();
+                } else {
+                    skipValue();
+                }
+            } while (consumeIf(','));
+            expect('}');
+        }
+        return journalSeq;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ==================== LAYOUT ====================
+
+    private void readUsers(Consumer<GameHistory> sink) throws IOException {
+        if (consumeNull()) return;
+        expect('{');
+        if (consumeIf('}')) return;
+        do {
+            String username = readString();
+            expect(':');
+            readUser(username, sink);
+        } while (consumeIf(','));
+        expect('}');
+    }
+
+    private void readUser(String username, Consumer<GameHistory> sink) throws IOException {
+        if (consumeNull()) return;
+        expect('{');
+        if (consumeIf('}')) return;
+        do {
+            String key = readString();
+            expect(':');
+            if ("history".equals(key) && !consumeNull()) {
+                expect('[');
+                if (!consumeIf(']')) {
+                    do {
+                        sink.accept(readGame(username));
+                    } while (consumeIf(','));
+                    expect(']');
+                }
+            } else {
+                skipValue();
+            }
+        } while (consumeIf(','));
+        expect('}');
+    }
+
+    private GameHistory readGame(String username) throws IOException {
+        String difficulty = null, player1 = null, player2 = null, duration = null, dateTime = null;
+        long finalScore = 0;
+        boolean coopWin = false;
+
+        expect('{');
+        if (!consumeIf('}')) {
+            do {
+                String key = readString();
+                expect(':');
+                switch (key) {
+                    case "difficulty" -> difficulty = readNullableString();
+                    case "player1" -> player1 = readNullableString();
+                    case "player2" -> player2 = readNullableString();
+                    case "duration" -> duration = readNullableString();
+                    case "dateTime" -> dateTime = readNullableString();
+                    case "finalScore" -> finalScore = readLong();
+                    case "coopWin" -> coopWin = readBoolean();
+                    default -> skipValue();
+                }
+            } while (consumeIf(','));
+            expect('}');
+        }
+
+        if (difficulty == null || dateTime == null) {
+            throw error("game of user '" + username + "' has no difficulty or dateTime");
+        }
+        return new GameHistory(GameSession.Difficulty.valueOf(difficulty), username, player1, player2,
+                (int) finalScore, coopWin, duration, parseDateTime(dateTime));
+    }
+
+    /**
+     * Decodes yyyy-MM-ddTHH:mm[:ss[.fraction]] without a formatter; anything
+     * else goes through LocalDateTime.parse.
+     */
+    static LocalDateTime parseDateTime(String s) {
+        int n = s.length();
+        if (n >= 16 && s.charAt(4) == '-' && s.charAt(7) == '-' && s.charAt(10) == 'T' && s.charAt(13) == ':') {
+            int year = digits(s, 0, 4), month = digits(s, 5, 7), day = digits(s, 8, 10);
+            int hour = digits(s, 11, 13), minute = digits(s, 14, 16);
+            int second = 0, nano = 0;
+            boolean ok = year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0;
+
+            if (ok && n > 16) {
+                ok = n >= 19 && s.charAt(16) == ':' && (second = digits(s, 17, 19)) >= 0;
+                if (ok && n > 19) {
+                    ok = s.charAt(19) == '.' && n <= 29 && n > 20 && (nano = digits(s, 20, n)) >= 0;
+                    for (int i = n; ok && i < 29; i++) nano *= 10;
+                }
+            }
+            if (ok) {
+                return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+            }
+        }
+        return LocalDateTime.parse(s);
+    }
+
+    /** Value of the decimal digits in [from, to), or -1 if any is not a digit. */
+    private static int digits(String s, int from, int to) {
+        int v = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    // ==================== TOKENS ====================
+
+    private String readString() throws IOException {
+        expect('"');
+        scratch.setLength(0);
+        while (true) {
+            int start = pos;
+            while (pos < limit) {
+                char c = buf[pos];
+                if (c == '"' || c == '\\') break;
+                pos++;
+            }
+            scratch.append(buf, start, pos - start);
+
+            if (pos == limit) {
+                if (!fill()) throw error("unterminated string");
+                continue;
+            }
+            char c = buf[pos++];
+            if (c == '"') return scratch.toString();
+            scratch.append(readEscape());
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"': return '"';
+            case '\\': return '\\';
+            case '/': return '/';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'u':
+                int v = 0;
+                for (int i = 0; i < 4; i++) {
+                    int d = Character.digit(read(), 16);
+                    if (d < 0) throw error("bad \\u escape");
+                    v = (v << 4) | d;
+                }
+                return (char) v;
+            default:
+                throw error("bad escape");
+        }
+    }
+
+    private String readNullableString() throws IOException {
+        return consumeNull() ? null : readString();
+    }
+
+    private long readLong() throws IOException {
+        peekToken();
+        boolean negative = consumeIf('-');
+        long v = 0;
+        int count = 0;
+        while (true) {
+            int c = peek();
+            if (c < '0' || c > '9') break;
+            v = v * 10 + (c - '0');
+            pos++;
+            count++;
+        }
+        if (count == 0) throw error("number expected");
+
+        int c = peek();
+        if (c == '.' || c == 'e' || c == 'E') {
+            skipNumberTail(); // fractional score: keep the integer part
+        }
+        return negative ? -v : v;
+    }
+
+    private boolean readBoolean() throws IOException {
+        int c = peekToken();
+        if (c == 't') {
+            expectWord("true");
+            return true;
+        }
+        if (c == 'f') {
+            expectWord("false");
+            return false;
+        }
+        throw error("boolean expected");
+    }
+
+    private void skipValue() throws IOException {
+        int c = peekToken();
+        switch (c) {
+            case '"' -> readString();
+            case '{' -> {
+                pos++;
+                if (consumeIf('}')) return;
+                do {
+                    readString();
+                    expect(':');
+                    skipValue();
+                } while (consumeIf(','));
+                expect('}');
+            }
+            case '[' -> {
+                pos++;
+                if (consumeIf(']')) return;
+                do {
+                    skipValue();
+                } while (consumeIf(','));
+                expect(']');
+            }
+            case 't' -> expectWord("true");
+            case 'f' -> expectWord("false");
+            case 'n' -> expectWord("null");
+            default -> {
+                if (c != '-' && (c < '0' || c > '9')) throw error("unexpected character");
+                pos++;
+                skipNumberTail();
+            }
+        }
+    }
+
+    private void skipNumberTail() throws IOException {
+        while (true) {
+            int c = peek();
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private boolean consumeNull() throws IOException {
+        if (peekToken() != 'n') return false;
+        expectWord("null");
+        return true;
+    }
+
+    private void expectWord(String word) throws IOException {
+        for (int i = 0; i < word.length(); i++) {
+            if (read() != word.charAt(i)) throw error("'" + word + "' expected");
+        }
+    }
+
+    private void expect(char c) throws IOException {
+        if (peekToken() != c) throw error("'" + c + "' expected");
+        pos++;
+    }
+
+    private boolean consumeIf(char c) throws IOException {
+        if (peekToken() != c) return false;
+        pos++;
+        return true;
+    }
+
+    /** Skips whitespace and returns the next character without consuming it. */
+    private int peekToken() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+            pos++;
+        }
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buf[pos];
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buf[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buf, 0, buf.length);
+        if (n <= 0) return false;
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private IOException error(String message) {
+        return new IOException("Malformed history.json: " + message);
+    }
+}
@@ -3,6 +3,8 @@ package minesweeper.controller;
 import minesweeper.model.MinesweeperApp;
 import minesweeper.model.SessionContext;
 import minesweeper.model.User;
+import minesweeper.model.security.CredentialHasher;
+import minesweeper.model.security.Pbkdf2CredentialHasher;
 import minesweeper.view.LoginView;
 import minesweeper.view.components.NeonDialog;
 
@@ -12,8 +14,11 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.security.SecureRandom;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 
 /**
@@ -70,6 +75,14 @@ public class LoginController {
     private LoginView view;
     private static Path userDataFile;
     private ImageIcon dialogIcon;
+    private static volatile UserRepository userRepository;
+    private static volatile CredentialHasher credentialHasher;
+    private static FutureTask<CredentialHasher> calibration; // see calibrateCredentialHasher
+
+    /** Time one password check should take on this machine. */
+    private static final long TARGET_VERIFY_MILLIS = 100;
+    private static final String TEMP_PASSWORD_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz23456789";
+    private static final int TEMP_PASSWORD_LENGTH = 10;
 
     // SINGLETON PATTERN: Lazy initialization
     private static synchronized Path getUserDataPath() {
@@ -98,7 +111,81 @@ public class LoginController {
         return userDataFile;
     }
 
+    // One repository per data file; a new one if the path was changed
+    private static UserRepository getUserRepository() {
+        UserRepository repository = userRepository;
+        Path path = userDataFile;
+        if (repository != null && repository.getFile().equals(path)) {
+            return repository; // no lock on the login path
+        }
+
+        synchronized (LoginController.class) {
+            path = getUserDataPath();
+            if (userRepository == null || !userRepository.getFile().equals(path)) {
+                if (userRepository != null) userRepository.flush();
+                userRepository = new UserRepository(path);
+            }
+            return userRepository;
+        }
+    }
+
+    // STRATEGY PATTERN: PBKDF2 tuned to this machine unless set explicitly
+    private static CredentialHasher getCredentialHasher() {
+        CredentialHasher hasher = credentialHasher;
+        if (hasher != null) {
+            return hasher;
+        }
+
+        FutureTask<CredentialHasher> task;
+        synchronized (LoginController.class) {
+            if (credentialHasher != null) {
+                return credentialHasher;
+            }
+            calibrateCredentialHasher();
+            task = calibration;
+        }
+        try {
+            hasher = task.get(); // normally finished long before the first login
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while tuning the password hasher", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hasher tuning failed", e.getCause());
+        }
+
+        synchronized (LoginController.class) {
+            if (credentialHasher == null) {
+                credentialHasher = hasher;
+            }
+            return credentialHasher;
+        }
+    }
+
+    /**
+     * Starts timing PBKDF2 on a background thread, once per run, so the
+     * first login does not freeze the UI for the calibration. Called when
+     * the login screen is created; does nothing if a hasher was set.
+     */
+    public static synchronized void calibrateCredentialHasher() {
+        if (calibration != null || credentialHasher != null) {
+            return;
+        }
+        calibration = new FutureTask<>(() -> Pbkdf2CredentialHasher.tuned(TARGET_VERIFY_MILLIS));
+        Thread thread = new Thread(calibration, "credential-calibration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Replaces the password hasher, e.g. with a fixed iteration count.
+     * Accounts hashed with other settings are upgraded on their next login.
+     */
+    public static synchronized void setCredentialHasher(CredentialHasher hasher) {
+        credentialHasher = hasher;
+    }
+
     public LoginController(LoginView view) {
+        calibrateCredentialHasher();
         this.view = view;
         this.view.setController(this);
         this.dialogIcon = loadImageIcon("/assets/eye.png");
@@ -113,13 +200,29 @@ public class LoginController {
             return;
         }
 
-        User user = findUser(username);
+        User user;
+        boolean authenticated;
+        Lock lock = getUserRepository().lockFor(username);
+        lock.lock();
+        try {
+            user = findUser(username);
+            authenticated = user != null && authenticateUser(user, password);
+
+            // Upgrade plain-text or outdated hashes while the password is at hand
+            if (authenticated && getCredentialHasher().needsRehash(user.getPassword())) {
+                user = withCredential(user, getCredentialHasher().hash(password));
+                saveUser(user);
+            }
+        } finally {
+            lock.unlock();
+        }
+
         if (user == null) {
             showErrorDialog("Login Failed", "User: " + username + " Not Found");
             return;
         }
 
-        if (!authenticateUser(user, password)) {
+        if (!authenticated) {
             showErrorDialog("Login Failed", "Password Incorrect");
             return;
         }
@@ -156,7 +259,19 @@ public class LoginController {
 
         // Create and save user
         User newUser = new User(username, password, securityAnswer, securityQuestion);
-        saveUser(newUser);
+        newUser.setPassword(getCredentialHasher().hash(password));
+        boolean added;
+        try {
+            added = getUserRepository().add(newUser);
+        } catch (IllegalStateException e) {
+            showErrorDialog("Register Failed", "User data cannot be saved: " + e.getMessage());
+            return;
+        }
+        if (!added) {
+            // registered by someone else since the check above
+            showErrorDialog("Register Failed", "User with username '" + username + "' already exists!");
+            return;
+        }
 
         showSuccessDialog("Registration Successful", "You can now login with your credentials");
         view.transitionToState(LoginView.ViewState.NORMAL_LOGIN);
@@ -164,19 +279,35 @@ public class LoginController {
 
     // COMMAND PATTERN: Encapsulate password recovery action
     public void handlePasswordRecovery(String username, String securityAnswer) {
-        User user = findUser(username);
+        User user;
+        boolean answered;
+        char[] temporary = null;
+        Lock lock = getUserRepository().lockFor(username);
+        lock.lock();
+        try {
+            user = findUser(username);
+            answered = user != null && user.getSecurityAnswer().equalsIgnoreCase(securityAnswer);
+
+            // Only a hash is stored, so the password is reset to a temporary one
+            if (answered) {
+                temporary = generateTemporaryPassword();
+                saveUser(withCredential(user, getCredentialHasher().hash(temporary)));
+            }
+        } finally {
+            lock.unlock();
+        }
 
         if (user == null) {
             showErrorDialog("Password Retrieve Failed", "User: " + username + " Not Found");
             return;
         }
 
-        if (!user.getSecurityAnswer().equalsIgnoreCase(securityAnswer)) {
+        if (!answered) {
             showErrorDialog("Password Retrieve Failed", "Incorrect answer or security question");
             return;
         }
 
-        showSuccessDialog("Password Retrieved Successfully", "Password is: " + user.getPassword());
+        showSuccessDialog("Password Reset Successfully", "Your temporary password is: " + new String(temporary));
         view.transitionToState(LoginView.ViewState.NORMAL_LOGIN);
     }
 
@@ -212,137 +343,41 @@ public class LoginController {
 
     // STRATEGY PATTERN: Different authentication strategies
     private boolean authenticateUser(User user, char[] password) {
-        String userPassword = user.getPassword();
-        String inputPassword = new String(password);
-        return userPassword.equals(inputPassword);
+        return getCredentialHasher().verify(password, user.getPassword());
+    }
+
+    // Users in the repository are shared between threads: replace, never modify
+    private static User withCredential(User user, String credential) {
+        User updated = new User(user.getUsername(), new char[0], user.getSecurityAnswer(), user.getSecurityQuestion());
+        updated.setPassword(credential);
+        return updated;
+    }
+
+    private static char[] generateTemporaryPassword() {
+        SecureRandom random = new SecureRandom();
+        char[] password = new char[TEMP_PASSWORD_LENGTH];
+        for (int i = 0; i < password.length; i++) {
+            password[i] = TEMP_PASSWORD_CHARS.charAt(random.nextInt(TEMP_PASSWORD_CHARS.length()));
+        }
+        return password;
     }
 
     // FACADE PATTERN: Simplify user operations
     private User findUser(String username) {
-        List<User> users = loadUsers();
-        return users.stream()
-                .filter(u -> u.getUsername().equals(username))
-                .findFirst()
-                .orElse(null);
+        return getUserRepository().find(username);
     }
 
     private boolean userExists(String username) {
-        return findUser(username) != null;
+        return getUserRepository().exists(username);
     }
 
     private void saveUser(User user) {
-        List<User> users = loadUsers();
-        users.add(user);
-        saveUsers(users);
+        getUserRepository().save(user);
     }
 
     // Data persistence methods
     private List<User> loadUsers() {
-        List<User> users = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(getUserDataPath().toFile()))) {
-            StringBuilder jsonContent = new StringBuilder();
-            String line;
-
-            while ((line = reader.readLine()) != null) {
-                jsonContent.append(line);
-            }
-
-            String json = jsonContent.toString().trim();
-
-            if (json.isEmpty() || json.equals("[]")) {
-                return users;
-            }
-
-            json = json.substring(1, json.length() - 1).trim();
-
-            if (json.isEmpty()) {
-                return users;
-            }
-
-            int braceCount = 0;
-            StringBuilder userJson = new StringBuilder();
-
-            for (int i = 0; i < json.length(); i++) {
-                char c = json.charAt(i);
-
-                if (c == '{') {
-                    braceCount++;
-                    userJson.append(c);
-                } else if (c == '}') {
-                    braceCount--;
-                    userJson.append(c);
-
-                    if (braceCount == 0) {
-                        users.add(parseUser(userJson.toString()));
-                        userJson = new StringBuilder();
-                    }
-                } else if (braceCount > 0) {
-                    userJson.append(c);
-                }
-            }
-
-        } catch (IOException e) {
-            System.err.println("Error reading file: " + e.getMessage());
-        }
-
-        return users;
-    }
-
-    private User parseUser(String json) {
-        String username = extractValue(json, "username");
-        String password = extractValue(json, "password");
-        String securityAnswer = extractValue(json, "securityAnswer");
-        String securityQuestion = extractValue(json, "securityQuestion");
-        return new User(username, password.toCharArray(), securityAnswer, securityQuestion);
-    }
-
-    private String extractValue(String json, String key) {
-        String searchKey = "\"" + key + "\":\"";
-        int startIndex = json.indexOf(searchKey);
-        if (startIndex == -1) {
-            return "";
-        }
-
-        startIndex += searchKey.length();
-        int endIndex = startIndex;
-
-        while (endIndex < json.length()) {
-            if (json.charAt(endIndex) == '"' && (endIndex == 0 || json.charAt(endIndex - 1) != '\\')) {
-                break;
-            }
-            endIndex++;
-        }
-
-        String value = json.substring(startIndex, endIndex);
-        return unescapeJson(value);
-    }
-
-    private String unescapeJson(String str) {
-        return str.replace("\\\"", "\"")
-                .replace("\\\\", "\\")
-                .replace("\\n", "\n")
-                .replace("\\r", "\r")
-                .replace("\\t", "\t");
-    }
-
-    private void saveUsers(List<User> users) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(getUserDataPath().toFile()))) {
-            writer.write("[\n");
-
-            for (int i = 0; i < users.size(); i++) {
-                writer.write("  " + users.get(i).toJson());
-
-                if (i < users.size() - 1) {
-                    writer.write(",");
-                }
-                writer.write("\n");
-            }
-
-            writer.write("]");
-        } catch (IOException e) {
-            System.err.println("Error writing to file: " + e.getMessage());
-        }
+        return getUserRepository().findAll();
     }
 
     // UI Helper methods
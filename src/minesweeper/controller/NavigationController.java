@@ -4,6 +4,7 @@ import minesweeper.model.audio.AudioManager;
 import minesweeper.view.*;
 import minesweeper.model.MinesweeperApp;
 import minesweeper.model.GameSession;
+import minesweeper.model.factory.BoardFactory;
 import javax.swing.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
@@ -79,6 +80,9 @@ public class NavigationController {
                 handleStartGame();
             });
         }
+        // Generate boards while the players type their names
+        BoardFactory.prefillPool();
+
         // Maximize the window for full screen
         mainFrame.setExtendedState(JFrame.MAXIMIZED_BOTH);
         switchToView(newGameView);
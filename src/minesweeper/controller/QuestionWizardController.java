@@ -13,6 +13,10 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.prefs.Preferences;
 import java.util.prefs.BackingStoreException;
 import minesweeper.model.QuestionDifficulty;
@@ -47,6 +51,17 @@ public class QuestionWizardController {
     // Callback for navigation back to start
     private Runnable onBackToStart;
 
+    // Searches run here, one at a time, so typing never waits for the bank.
+    // Only the newest search publishes its result.
+    private static final ExecutorService QUESTION_SEARCH = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "question-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong latestSearch = new AtomicLong();
+    private Future<?> pendingSearch;
+
     /**
      * Constructs the controller with the given model and view.
      *
@@ -61,15 +76,32 @@ public class QuestionWizardController {
         setupEventHandlers();
     }
 
+    /**
+     * Runs the search on QUESTION_SEARCH and binds the result on the EDT. A
+     * newer search supersedes this one: if it is still queued it is dropped,
+     * and if it already ran its result is discarded.
+     */
     private void applySearchAndFilter(String text, QuestionDifficulty difficulty) {
-        String query = (text == null) ? "" : text.trim().toLowerCase();
+        long ticket = latestSearch.incrementAndGet();
 
-        List<Question> filtered = questionBank.getAllQuestions().stream()
-                .filter(q -> query.isEmpty() || q.getText().toLowerCase().contains(query))
-                .filter(q -> difficulty == null || q.getDifficulty() == difficulty)
-                .toList();
+        if (pendingSearch != null) pendingSearch.cancel(false);
+
+        pendingSearch = QUESTION_SEARCH.submit(() -> {
+            if (ticket != latestSearch.get()) return; // superseded while queued
+
+            try {
+                List<Question> filtered = questionBank.searchQuestions(text, difficulty);
+
+                SwingUtilities.invokeLater(() -> {
+                    if (ticket != latestSearch.get()) return; // a newer search will publish
+                    view.bindQuestions(filtered);
+                });
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+    }
 
-        view.bindQuestions(filtered);    }
     /**
      * Sets up the event handlers for view actions.
      */
@@ -155,7 +187,7 @@ public class QuestionWizardController {
             if (f.exists() && f.isFile()) {
                 // File system file (user uploaded)
                 try (FileInputStream fis = new FileInputStream(f)) {
-                    questionBank.loadFromInputStream(fis);
+                    questionBank.load(fis);
                 }
             } else {
                 // Classpath resource (bundled with app)
@@ -163,6 +195,7 @@ public class QuestionWizardController {
             }
 
             List<Question> questions = questionBank.getAllQuestions();
+            latestSearch.incrementAndGet(); // results of earlier searches are outdated
             view.bindQuestions(questions);
 
             lastLoadedFilePath = filePath;
@@ -432,72 +465,26 @@ public class QuestionWizardController {
     }
 
     /**
-     * Checks if a question with the same text already exists in the question bank.
+     * Checks if a question with the same or a very similar (over 90%) text
+     * already exists in the question bank.
      *
      * @param question The question to check
      * @param excludeId ID of question to exclude from check (for editing), or -1 for new questions
      * @return Error message if duplicate found, null otherwise
      */
     private String checkForDuplicateQuestion(Question question, int excludeId) {
-        String newText = question.getText().trim().toLowerCase();
-
-        for (Question existing : questionBank.getAllQuestions()) {
-            // Skip the question being edited
-            if (existing.getId() == excludeId) {
-                continue;
-            }
-
-            // Check for exact duplicate text
-            if (existing.getText().trim().toLowerCase().equals(newText)) {
-                return "A question with the same text already exists (ID: " + existing.getId() + ")";
-            }
-
-            // Check for very similar questions (over 90% similar)
-            if (calculateSimilarity(existing.getText(), question.getText()) > 0.9) {
-                return "A very similar question already exists (ID: " + existing.getId() + "):\n\"" +
-                       truncateText(existing.getText(), 50) + "\"";
-            }
+        Question existing = questionBank.findSimilarQuestion(question.getText(), 0.9, excludeId);
+        if (existing == null) {
+            return null;
         }
 
-        return null;
-    }
-
-    /**
-     * Calculates similarity between two strings (0.0 to 1.0).
-     */
-    private double calculateSimilarity(String s1, String s2) {
-        String str1 = s1.toLowerCase().trim();
-        String str2 = s2.toLowerCase().trim();
-
-        if (str1.equals(str2)) return 1.0;
-        if (str1.isEmpty() || str2.isEmpty()) return 0.0;
-
-        int maxLen = Math.max(str1.length(), str2.length());
-        int distance = levenshteinDistance(str1, str2);
-
-        return 1.0 - ((double) distance / maxLen);
-    }
-
-    /**
-     * Calculates Levenshtein distance between two strings.
-     */
-    private int levenshteinDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
-
-        for (int i = 0; i <= s1.length(); i++) dp[i][0] = i;
-        for (int j = 0; j <= s2.length(); j++) dp[0][j] = j;
-
-        for (int i = 1; i <= s1.length(); i++) {
-            for (int j = 1; j <= s2.length(); j++) {
-                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
-                dp[i][j] = Math.min(Math.min(
-                        dp[i - 1][j] + 1,
-                        dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + cost);
-            }
+        // Check for exact duplicate text
+        if (existing.getText().trim().toLowerCase().equals(question.getText().trim().toLowerCase())) {
+            return "A question with the same text already exists (ID: " + existing.getId() + ")";
         }
 
-        return dp[s1.length()][s2.length()];
+        return "A very similar question already exists (ID: " + existing.getId() + "):\n\"" +
+               truncateText(existing.getText(), 50) + "\"";
     }
 
     /**
@@ -544,6 +531,7 @@ public class QuestionWizardController {
             applySearchAndFilter(searchText, difficulty);
         } else {
             // Show all questions
+            latestSearch.incrementAndGet(); // results of earlier searches are outdated
             view.bindQuestions(questionBank.getAllQuestions());
         }
     }
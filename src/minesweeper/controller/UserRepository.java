@@ -0,0 +1,466 @@
+package minesweeper.controller;
+
+import minesweeper.model.User;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory user accounts backed by UserData.json, safe for concurrent use.
+ *
+ * The file is parsed once into a map keyed by username, so finding a user
+ * costs the same with ten accounts or a hundred thousand. It is only parsed
+ * again when its size or modification time no longer match what this
+ * instance last read or wrote, i.e. when another process changed it.
+ *
+ * The file keeps its original layout, a JSON array with one user per line,
+ * and is used as an append-only record log: saving a user overwrites the
+ * closing "]" with ",\n  {user}\n]", so registration does not rewrite the
+ * accounts that are already there. A later record for the same username
+ * replaces the earlier one. Once the superseded records outnumber the live
+ * users (and MIN_COMPACTION_RECORDS), the file is compacted: rewritten with
+ * one record per user to a temp file that is atomically moved into place.
+ *
+ * A crash in the middle of an append leaves a record without the closing
+ * "]". Loading cuts such a torn tail off and closes the array again. A file
+ * that is unreadable for any other reason is renamed to "<name>.corrupt"
+ * before anything is written, so no account in it is overwritten.
+ *
+ * Concurrency:
+ * - Lookups never block; they read a ConcurrentHashMap.
+ * - Saves update the map right away and queue the file write on WRITER, one
+ *   thread shared by all repositories, so the file has a single writer and
+ *   callers do not wait for the disk. flush() waits for queued writes.
+ * - Read-modify-write sequences on one account (login with rehash, password
+ *   reset) hold lockFor(username), one of LOCK_STRIPES locks, so different
+ *   users do not contend.
+ * - A reload replaces the map under the write side of stateLock while no
+ *   write is queued; saves hold the read side. External changes made while
+ *   writes are queued are picked up once the queue is empty.
+ */
+public class UserRepository {
+
+    private static final int MIN_COMPACTION_RECORDS = 256;
+    private static final int LOCK_STRIPES = 64; // power of two
+
+    // SINGLE WRITER: every file write of every repository runs here, in order
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(task -> {
+        Thread t = new Thread(task, "user-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                WRITER.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                System.err.println("User data may not be fully saved: " + e);
+            }
+        }, "user-writer-flush"));
+    }
+
+    private final Path file;
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final AtomicLong nextOrder = new AtomicLong();
+
+    private volatile ConcurrentHashMap<String, Slot> users = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile boolean stale;      // a write failed: the map is ahead of the file
+    private volatile FileStamp stamp = FileStamp.MISSING;
+    private volatile boolean unwritable; // the file is unreadable and could not be moved aside
+
+    // Only touched by the WRITER thread, or under the write side of stateLock
+    private int records;                 // user records currently in the file
+    private long closeAt = -1;           // byte offset just past the last record (or the '['), -1 if unknown
+
+    public UserRepository(Path file) {
+        this.file = file;
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * The lock for one username. Hold it around a find and a following save
+     * of the same account so another thread cannot slip in between.
+     */
+    public Lock lockFor(String username) {
+        int h = username == null ? 0 : username.hashCode();
+        h ^= h >>> 16;
+        return stripes[h & (LOCK_STRIPES - 1)];
+    }
+
+    /** The user with exactly this username, or null. */
+    public User find(String username) {
+        ensureCurrent();
+        Slot slot = users.get(username);
+        return slot == null ? null : slot.user;
+    }
+
+    public boolean exists(String username) {
+        return find(username) != null;
+    }
+
+    /** Every user, in the order they were first saved. */
+    public List<User> findAll() {
+        ensureCurrent();
+        return inOrder();
+    }
+
+    private List<User> inOrder() {
+        List<Slot> slots = new ArrayList<>(users.values());
+        slots.sort(Comparator.comparingLong(s -> s.order));
+        List<User> all = new ArrayList<>(slots.size());
+        for (Slot s : slots) all.add(s.user);
+        return all;
+    }
+
+    public int size() {
+        ensureCurrent();
+        return users.size();
+    }
+
+    /**
+     * Adds a user unless the username is taken. The check and the insert are
+     * one atomic step.
+     *
+     * @return false if a user with this username already exists
+     * @throws IllegalStateException if the file is unreadable and could not
+     *                               be moved aside
+     */
+    public boolean add(User user) {
+        ensureCurrent();
+        checkWritable();
+        stateLock.readLock().lock();
+        try {
+            Slot slot = new Slot(user, nextOrder.incrementAndGet());
+            if (users.putIfAbsent(user.getUsername(), slot) != null) {
+                return false;
+            }
+            enqueueAppend(user);
+            return true;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the user, or replaces the one with the same username, and queues
+     * its record for the file.
+     */
+    public void save(User user) {
+        ensureCurrent();
+        checkWritable();
+        stateLock.readLock().lock();
+        try {
+            users.compute(user.getUsername(),
+                    (name, old) -> new Slot(user, old == null ? nextOrder.incrementAndGet() : old.order));
+            enqueueAppend(user);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /** Waits until every save made so far is on disk. */
+    public void flush() {
+        try {
+            WRITER.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Rewrites the file with exactly one record per user. */
+    public void compact() throws IOException {
+        ensureCurrent();
+        checkWritable();
+        Future<?> done;
+        stateLock.readLock().lock();
+        try {
+            pendingWrites.incrementAndGet();
+            done = WRITER.submit(() -> {
+                try {
+                    writeSnapshot();
+                    return null;
+                } finally {
+                    pendingWrites.decrementAndGet();
+                }
+            });
+        } finally {
+            stateLock.readLock().unlock();
+        }
+
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        }
+    }
+
+    // ==================== WRITER ====================
+
+    private void enqueueAppend(User user) {
+        pendingWrites.incrementAndGet();
+        WRITER.execute(() -> {
+            try {
+                if (closeAt < 0) {
+                    writeSnapshot();
+                } else {
+                    append(user);
+                    if (records - users.size() >= Math.max(MIN_COMPACTION_RECORDS, users.size())) {
+                        writeSnapshot();
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error writing to file: " + e.getMessage());
+                stale = true; // read the file again instead of trusting the map
+            } finally {
+                pendingWrites.decrementAndGet();
+            }
+        });
+    }
+
+    /** Writes one record over the closing bracket and closes the array again. */
+    private void append(User user) throws IOException {
+        String prefix = records == 0 ? "\n  " : ",\n  ";
+        byte[] bytes = (prefix + user.toJson() + "\n]").getBytes(StandardCharsets.UTF_8);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long at = closeAt;
+            while (buffer.hasRemaining()) {
+                at += channel.write(buffer, at);
+            }
+            channel.truncate(at);
+            channel.force(false);
+        }
+
+        closeAt += bytes.length - 2; // back before "\n]"
+        records++;
+        stamp = FileStamp.of(file);
+    }
+
+    private void writeSnapshot() throws IOException {
+        List<User> all = inOrder();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long length;
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    Channels.newOutputStream(channel), StandardCharsets.UTF_8), 1 << 16);
+            writer.write("[\n");
+            for (int i = 0; i < all.size(); i++) {
+                writer.write("  " + all.get(i).toJson());
+                if (i < all.size() - 1) {
+                    writer.write(",");
+                }
+                writer.write("\n");
+            }
+            writer.write("]");
+            writer.flush();
+            channel.force(true);
+            length = channel.size();
+        }
+
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        records = all.size();
+        closeAt = length - 2;
+        stamp = FileStamp.of(file);
+    }
+
+    // ==================== LOADING ====================
+
+    private void ensureCurrent() {
+        // Our own queued writes change the file too: only look while idle
+        if (loaded && (pendingWrites.get() > 0 || (!stale && FileStamp.of(file).equals(stamp)))) return;
+
+        stateLock.writeLock().lock();
+        try {
+            if (loaded && (pendingWrites.get() > 0 || (!stale && FileStamp.of(file).equals(stamp)))) return;
+
+            ConcurrentHashMap<String, Slot> fresh = new ConcurrentHashMap<>();
+            try {
+                load(fresh);
+                unwritable = false;
+            } catch (IOException e) {
+                System.err.println("Error reading file: " + e.getMessage());
+                fresh.clear();
+                records = 0;
+                closeAt = -1;
+                moveAside(); // the next save rewrites the file
+            }
+            users = fresh;
+            stamp = FileStamp.of(file);
+            stale = false;
+            loaded = true;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Renames an unreadable file to "<name>.corrupt" (or "<name>.corrupt.N"
+     * if that exists), so the next save does not overwrite the accounts in
+     * it. Saves are refused if the file cannot be moved.
+     */
+    private void moveAside() {
+        if (!Files.exists(file)) return;
+        Path aside = file.resolveSibling(file.getFileName() + ".corrupt");
+        for (int n = 1; Files.exists(aside); n++) {
+            aside = file.resolveSibling(file.getFileName() + ".corrupt." + n);
+        }
+        try {
+            Files.move(file, aside);
+            System.err.println("Unreadable user data moved to " + aside + ", starting with no users");
+        } catch (IOException e) {
+            System.err.println("Cannot move unreadable user data aside: " + e.getMessage());
+            unwritable = true;
+        }
+    }
+
+    private void checkWritable() {
+        if (unwritable) {
+            throw new IllegalStateException("User data file " + file + " is unreadable and was not replaced");
+        }
+    }
+
+    private void load(ConcurrentHashMap<String, Slot> into) throws IOException {
+        records = 0;
+        closeAt = -1;
+        if (!Files.exists(file)) return;
+
+        String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        if (json.isBlank()) return;
+
+        JSONArray array;
+        try {
+            array = parseArray(json);
+        } catch (ParseException e) {
+            json = repairTornTail(json);
+            array = parseArrayOrNull(json);
+        }
+
+        for (Object o : array) {
+            if (!(o instanceof JSONObject)) continue;
+            User user = parseUser((JSONObject) o);
+            into.compute(user.getUsername(),
+                    (name, old) -> new Slot(user, old == null ? nextOrder.incrementAndGet() : old.order));
+            records++;
+        }
+        int end = json.lastIndexOf(']');
+        while (end > 0 && Character.isWhitespace(json.charAt(end - 1))) end--;
+        closeAt = json.substring(0, end).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static JSONArray parseArray(String json) throws ParseException {
+        Object parsed = new JSONParser().parse(json);
+        if (!(parsed instanceof JSONArray)) {
+            throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN);
+        }
+        return (JSONArray) parsed;
+    }
+
+    private static JSONArray parseArrayOrNull(String json) {
+        try {
+            return parseArray(json);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Handles a file whose last append was cut short: drops the incomplete
+     * record (at most the last line or two), closes the array and writes the
+     * result back.
+     */
+    private String repairTornTail(String json) throws IOException {
+        if (json.stripTrailing().endsWith("]")) {
+            throw new IOException("Malformed user data");
+        }
+        String head = json;
+        for (int attempt = 0; attempt < 3; attempt++) {
+            head = head.stripTrailing();
+            if (head.endsWith(",")) head = head.substring(0, head.length() - 1);
+            String repaired = head + "\n]";
+            if (parseArrayOrNull(repaired) != null) {
+                System.err.println("Truncating torn user data tail ("
+                        + (json.length() - head.length()) + " chars)");
+                Files.write(file, repaired.getBytes(StandardCharsets.UTF_8));
+                return repaired;
+            }
+            int lineStart = head.lastIndexOf('\n');
+            if (lineStart < 0) break;
+            head = head.substring(0, lineStart);
+        }
+        throw new IOException("Malformed user data");
+    }
+
+    private static User parseUser(JSONObject o) {
+        return new User(text(o, "username"), text(o, "password").toCharArray(),
+                text(o, "securityAnswer"), text(o, "securityQuestion"));
+    }
+
+    private static String text(JSONObject o, String key) {
+        Object value = o.get(key);
+        return value == null ? "" : value.toString();
+    }
+
+    // ==================== HELPERS ====================
+
+    /** A user and the position it was first saved at. */
+    private static final class Slot {
+        final User user;
+        final long order;
+
+        Slot(User user, long order) {
+            this.user = user;
+            this.order = order;
+        }
+    }
+}
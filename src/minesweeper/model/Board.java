@@ -2,41 +2,90 @@
 package minesweeper.model;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import minesweeper.observer.BoardObserver;
 
+/**
+ * Game board. Cell state is packed into a single {@code short[]} indexed
+ * {@code row * size + col}, one slot per square:
+ *
+ *   bits 0-3  adjacent mine count (0-8)
+ *   bits 4-6  {@link Cell.CellType} ordinal
+ *   bit  7    revealed
+ *   bit  8    flagged
+ *   bit  9    used (question / surprise already activated)
+ *   bit  10   dirty (changed since the last {@link #takeDirtyCells()})
+ *
+ * {@link Cell} objects handed out by {@link #getCell(int, int)} are views over
+ * this array, so very large custom boards cost two bytes per square instead of
+ * one heap object each.
+ *
+ * Every change made after generation (through a Cell view, the cascade engine
+ * or {@link #revealCell}) is recorded once in a dirty list. At the end of a
+ * move {@link #publishChanges()} hands that list to the observers as a single
+ * batch, so the UI repaints only the squares the move actually touched.
+ */
 public class Board {
+    static final int ADJACENT_MASK = 0x000F;
+    static final int TYPE_SHIFT = 4;
+    static final int TYPE_MASK = 0x0070;
+    static final int REVEALED = 0x0080;
+    static final int FLAGGED = 0x0100;
+    static final int USED = 0x0200;
+    static final int DIRTY = 0x0400;
+
+    private static final Cell.CellType[] TYPES = Cell.CellType.values();
+    private static final int MINE_BITS = Cell.CellType.MINE.ordinal() << TYPE_SHIFT;
+
+    /** Boards with at least this many cells count adjacent mines in parallel. */
+    private static final int PARALLEL_COUNT_THRESHOLD = 512 * 512;
+
     private int size;
-    private Cell[][] cells;
+    private short[] state;
     private int totalMines;
     private int revealedMines;
     private List<BoardObserver> observers;
     private int currentScore;
+    private CascadeEngine cascadeEngine;
+    private int[] dirtyCells = new int[16];
+    private int dirtyCount;
     
 
     public Board(int size, int mineCount, int questionCount, int surpriseCount) {
+        this(size, mineCount, questionCount, surpriseCount, new Random());
+    }
+
+    /**
+     * Creates a reproducible board: the same size, counts and seed always
+     * produce the same layout.
+     */
+    public Board(int size, int mineCount, int questionCount, int surpriseCount, long seed) {
+        this(size, mineCount, questionCount, surpriseCount, new Random(seed));
+    }
+
+    private Board(int size, int mineCount, int questionCount, int surpriseCount, Random rand) {
         this.size = size;
-        this.totalMines = mineCount;
+        // All-zero slots are unrevealed EMPTY cells
+        this.state = new short[size * size];
+        this.totalMines = Math.min(mineCount, state.length);
         this.revealedMines = 0;
-        this.cells = new Cell[size][size];
 
         
         this.observers = new ArrayList<>();
         this.currentScore = 0;
         
-        // Initialize cells
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                cells[i][j] = new Cell();
-            }
-        }
-        
-        
 
-        // Generate board
-        placeMines(mineCount);
+        // Generate board: one partial Fisher-Yates shuffle over all cell indices.
+        // order[0, placed) holds the cells chosen so far; the rest are still candidates.
+        int[] order = new int[state.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        int placed = placeMines(order, totalMines, rand);
         calculateNumbers();
-        placeSpecialTiles(questionCount, surpriseCount);
+        placeSpecialTiles(order, placed, questionCount, surpriseCount, rand);
     }
     
     
@@ -52,12 +101,25 @@ public class Board {
    
     
     public void notifyCellRevealed(int row, int col) {
-        Cell cell = cells[row][col];
+        Cell cell = getCell(row, col);
         for (BoardObserver observer : observers) {
             observer.onCellRevealed(row, col, cell);
         }
     }
     
+    /**
+     * Ends a move: delivers every cell changed since the last call to the
+     * observers as one {@link BoardObserver#onCellsRevealed} batch.
+     * Does nothing if no cell changed.
+     */
+    public void publishChanges() {
+        if (dirtyCount == 0) return;
+        int[] changed = takeDirtyCells();
+        for (BoardObserver observer : observers) {
+            observer.onCellsRevealed(this, changed);
+        }
+    }
+
     public void notifyGameOver(boolean won) {
         for (BoardObserver observer : observers) {
             observer.onGameOver(won);
@@ -80,102 +142,186 @@ public class Board {
     
     
 
-    private void placeMines(int count) {
-        Random rand = new Random();
-        int placed = 0;
-        
-        while (placed < count) {
-            int row = rand.nextInt(size);
-            int col = rand.nextInt(size);
-            
-            if (cells[row][col].getType() != Cell.CellType.MINE) {
-                cells[row][col].setType(Cell.CellType.MINE);
-                placed++;
-            }
+    private int placeMines(int[] order, int count, Random rand) {
+        for (int i = 0; i < count; i++) {
+            int index = pick(order, i, order.length, rand);
+            state[index] = withType(state[index], Cell.CellType.MINE);
         }
+        return count;
     }
 
     private void calculateNumbers() {
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (cells[row][col].getType() != Cell.CellType.MINE) {
-                    int count = countAdjacentMines(row, col);
-                    cells[row][col].setAdjacentMines(count);
-                    if (count > 0) {
-                        cells[row][col].setType(Cell.CellType.NUMBER);
-                    }
-                }
-            }
+        if (state.length < PARALLEL_COUNT_THRESHOLD) {
+            countRows(0, size);
+            return;
         }
+
+        // Large custom board: independent row stripes across the common ForkJoin pool.
+        // Each stripe only writes its own rows and only reads mine bits, which are final by now.
+        int stripes = Math.min(size, ForkJoinPool.getCommonPoolParallelism() * 4);
+        int rowsPerStripe = (size + stripes - 1) / stripes;
+        IntStream.range(0, stripes).parallel().forEach(stripe -> {
+            int fromRow = stripe * rowsPerStripe;
+            countRows(fromRow, Math.min(fromRow + rowsPerStripe, size));
+        });
     }
 
-    private int countAdjacentMines(int row, int col) {
-        int count = 0;
-        for (int dr = -1; dr <= 1; dr++) {
-            for (int dc = -1; dc <= 1; dc++) {
-                if (dr == 0 && dc == 0) continue;
-                int newRow = row + dr;
-                int newCol = col + dc;
-                if (isValid(newRow, newCol) && cells[newRow][newCol].getType() == Cell.CellType.MINE) {
-                    count++;
+    /**
+     * Sets adjacent counts (and NUMBER type) for rows {@code [fromRow, toRow)}
+     * with a separable 3x3 box sum: a vertical sum of three mine bits per
+     * column, then a horizontal sum of three neighbouring columns. The cell
+     * itself is never a mine when it is counted, so it adds nothing.
+     */
+    private void countRows(int fromRow, int toRow) {
+        int[] columnSums = new int[size + 2];
+        for (int row = fromRow; row < toRow; row++) {
+            for (int col = 0; col < size; col++) {
+                int sum = mineBit(row, col);
+                if (row > 0) sum += mineBit(row - 1, col);
+                if (row < size - 1) sum += mineBit(row + 1, col);
+                columnSums[col + 1] = sum;
+            }
+
+            for (int col = 0; col < size; col++) {
+                int index = row * size + col;
+                if (!isMine(index)) {
+                    int count = columnSums[col] + columnSums[col + 1] + columnSums[col + 2];
+                    short packed = (short) ((state[index] & ~ADJACENT_MASK) | count);
+                    state[index] = count > 0 ? withType(packed, Cell.CellType.NUMBER) : packed;
                 }
             }
         }
-        return count;
     }
 
-    private void placeSpecialTiles(int questionCount, int surpriseCount) {
-        List<int[]> emptyPositions = new ArrayList<>();
-        
-        // Find all empty tiles
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (cells[row][col].getType() == Cell.CellType.EMPTY) {
-                    emptyPositions.add(new int[]{row, col});
-                }
+    private int mineBit(int row, int col) {
+        return isMine(row * size + col) ? 1 : 0;
+    }
+
+    private void placeSpecialTiles(int[] order, int placed, int questionCount, int surpriseCount, Random rand) {
+        // Keep only the EMPTY candidates, packed right after the mines
+        int end = placed;
+        for (int i = placed; i < order.length; i++) {
+            if (typeOf(state[order[i]]) == Cell.CellType.EMPTY) {
+                order[end++] = order[i];
             }
         }
 
         // Place question tiles
-        Collections.shuffle(emptyPositions);
-        for (int i = 0; i < Math.min(questionCount, emptyPositions.size()); i++) {
-            int[] pos = emptyPositions.get(i);
-            cells[pos[0]][pos[1]].setType(Cell.CellType.QUESTION);
+        int questions = Math.min(questionCount, end - placed);
+        for (int i = 0; i < questions; i++, placed++) {
+            int index = pick(order, placed, end, rand);
+            state[index] = withType(state[index], Cell.CellType.QUESTION);
         }
 
         // Place surprise tiles
-        emptyPositions.removeIf(pos -> cells[pos[0]][pos[1]].getType() == Cell.CellType.QUESTION);
-        Collections.shuffle(emptyPositions);
-        for (int i = 0; i < Math.min(surpriseCount, emptyPositions.size()); i++) {
-            int[] pos = emptyPositions.get(i);
-            cells[pos[0]][pos[1]].setType(Cell.CellType.SURPRISE);
+        int surprises = Math.min(surpriseCount, end - placed);
+        for (int i = 0; i < surprises; i++, placed++) {
+            int index = pick(order, placed, end, rand);
+            state[index] = withType(state[index], Cell.CellType.SURPRISE);
         }
     }
 
+    /**
+     * One Fisher-Yates step: swaps a uniformly chosen candidate from
+     * {@code order[slot, end)} into {@code order[slot]} and returns it.
+     */
+    private static int pick(int[] order, int slot, int end, Random rand) {
+        int other = slot + rand.nextInt(end - slot);
+        int chosen = order[other];
+        order[other] = order[slot];
+        order[slot] = chosen;
+        return chosen;
+    }
+
     public boolean isValid(int row, int col) {
         return row >= 0 && row < size && col >= 0 && col < size;
     }
 
     /**
-     * Observer Pattern: Reveals a cell and notifies all registered observers.
-     * This method should be called instead of cell.setRevealed(true) directly
-     * when UI updates are needed.
+     * Observer Pattern: Reveals a cell. Observers hear about it, together with
+     * everything else that changed in the same move, on the next
+     * {@link #publishChanges()}.
      *
      * @param row The row of the cell to reveal
      * @param col The column of the cell to reveal
      */
     public void revealCell(int row, int col) {
-        Cell cell = cells[row][col];
-        if (!cell.isRevealed()) {
-            cell.setRevealed(true);
-            notifyCellRevealed(row, col);  // Notify observers of the change
+        int index = row * size + col;
+        if ((state[index] & REVEALED) == 0) {
+            state[index] |= REVEALED;
+            markDirty(index);  // Observers are notified in publishChanges()
         }
     }
 
+    // ==================== PACKED STATE ====================
+
+    static Cell.CellType typeOf(short packed) {
+        return TYPES[(packed & TYPE_MASK) >> TYPE_SHIFT];
+    }
+
+    static short withType(short packed, Cell.CellType type) {
+        return (short) ((packed & ~TYPE_MASK) | (type.ordinal() << TYPE_SHIFT));
+    }
+
+    private boolean isMine(int index) {
+        return (state[index] & TYPE_MASK) == MINE_BITS;
+    }
+
+    // ==================== DIRTY TRACKING ====================
+
+    /** Records that the cell at {@code index} changed; repeated marks are ignored. */
+    void markDirty(int index) {
+        if ((state[index] & DIRTY) != 0) return;
+        state[index] |= DIRTY;
+        if (dirtyCount == dirtyCells.length) {
+            dirtyCells = Arrays.copyOf(dirtyCells, Math.min(dirtyCount * 2, state.length));
+        }
+        dirtyCells[dirtyCount++] = index;
+    }
+
+    /**
+     * Returns the packed indices ({@code row * size + col}) of every cell that
+     * changed since the previous call, in the order they first changed, and
+     * clears the list.
+     */
+    public int[] takeDirtyCells() {
+        int[] taken = Arrays.copyOf(dirtyCells, dirtyCount);
+        for (int i = 0; i < dirtyCount; i++) {
+            state[dirtyCells[i]] &= ~DIRTY;
+        }
+        dirtyCount = 0;
+        return taken;
+    }
+
+    /**
+     * Flood-fill engine bound to this board. Created on first use and reused
+     * for every later cascade.
+     */
+    public CascadeEngine getCascadeEngine() {
+        if (cascadeEngine == null) {
+            cascadeEngine = new CascadeEngine(this, state, size);
+        }
+        return cascadeEngine;
+    }
+
     // Getters
     public int getSize() { return size; }
-    public Cell[][] getCells() { return cells; }
-    public Cell getCell(int row, int col) { return cells[row][col]; }
+
+    /**
+     * Builds a grid of views over the packed state. Prefer {@link #getCell(int, int)}
+     * on large boards; this allocates one view per square.
+     */
+    public Cell[][] getCells() {
+        Cell[][] cells = new Cell[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                cells[row][col] = getCell(row, col);
+            }
+        }
+        return cells;
+    }
+
+    public Cell getCell(int row, int col) { return new Cell(this, state, row * size + col); }
     public int getTotalMines() { return totalMines; }
     public int getRevealedMines() { return revealedMines; }
     public void incrementRevealedMines() { revealedMines++; }
@@ -0,0 +1,126 @@
+package minesweeper.model;
+
+/**
+ * Iterative flood fill used when an open cell spreads to its neighbours.
+ *
+ * One engine belongs to one {@link Board} and works directly on its packed
+ * state. The only buffer is an {@code int[]} sized to the board, allocated the
+ * first time a cascade runs and reused afterwards, so a click never allocates
+ * and a huge open area cannot overflow the stack. Each newly revealed cell is
+ * appended to that buffer once; the same buffer doubles as the work queue and
+ * as the list of changed cells the caller reads back afterwards. Revealed
+ * cells are also marked dirty on the board.
+ *
+ * Not thread-safe: call it from the thread that owns the board (the EDT).
+ */
+public class CascadeEngine {
+
+    /**
+     * Which hidden neighbours a cascade reveals, and which of the newly
+     * revealed cells keep spreading.
+     */
+    public enum Rule {
+        /** Reveals EMPTY and NUMBER neighbours; only EMPTY cells keep spreading. */
+        STANDARD(mask(Cell.CellType.EMPTY, Cell.CellType.NUMBER),
+                 mask(Cell.CellType.EMPTY)),
+
+        /** Reveals every hidden neighbour; EMPTY, QUESTION and SURPRISE keep spreading. */
+        THROUGH_SPECIAL(mask(Cell.CellType.values()),
+                        mask(Cell.CellType.EMPTY, Cell.CellType.QUESTION, Cell.CellType.SURPRISE));
+
+        private final int revealMask;
+        private final int spreadMask;
+
+        Rule(int revealMask, int spreadMask) {
+            this.revealMask = revealMask;
+            this.spreadMask = spreadMask;
+        }
+
+        private static int mask(Cell.CellType... types) {
+            int mask = 0;
+            for (Cell.CellType type : types) {
+                mask |= 1 << type.ordinal();
+            }
+            return mask;
+        }
+    }
+
+    private final Board board;
+    private final short[] state;
+    private final int size;
+    private int[] changed;
+    private int changedCount;
+
+    CascadeEngine(Board board, short[] state, int size) {
+        this.board = board;
+        this.state = state;
+        this.size = size;
+    }
+
+    /**
+     * Spreads out from a cell the caller has already revealed. Its neighbours
+     * are revealed according to {@code rule}, and so on outwards. Flagged and
+     * already revealed cells are left alone.
+     *
+     * @param startRow Row of the cell the cascade starts from
+     * @param startCol Column of the cell the cascade starts from
+     * @param rule     Which cells are revealed and which keep spreading
+     * @return Number of cells revealed (also available as {@link #getChangedCount()})
+     */
+    public int cascade(int startRow, int startCol, Rule rule) {
+        if (changed == null) {
+            changed = new int[state.length];
+        }
+        changedCount = 0;
+
+        spread(startRow * size + startCol, rule);
+        for (int cursor = 0; cursor < changedCount; cursor++) {
+            int index = changed[cursor];
+            if ((rule.spreadMask & typeBit(state[index])) != 0) {
+                spread(index, rule);
+            }
+        }
+        return changedCount;
+    }
+
+    private void spread(int index, Rule rule) {
+        int row = index / size;
+        int col = index - row * size;
+        int rowFrom = Math.max(row - 1, 0), rowTo = Math.min(row + 1, size - 1);
+        int colFrom = Math.max(col - 1, 0), colTo = Math.min(col + 1, size - 1);
+
+        for (int r = rowFrom; r <= rowTo; r++) {
+            int base = r * size;
+            for (int c = colFrom; c <= colTo; c++) {
+                int neighbour = base + c;
+                short packed = state[neighbour];
+                if ((packed & (Board.REVEALED | Board.FLAGGED)) != 0) continue;
+                if ((rule.revealMask & typeBit(packed)) == 0) continue;
+
+                state[neighbour] = (short) (packed | Board.REVEALED);
+                changed[changedCount++] = neighbour;
+                board.markDirty(neighbour);
+            }
+        }
+    }
+
+    private static int typeBit(short packed) {
+        return 1 << ((packed & Board.TYPE_MASK) >> Board.TYPE_SHIFT);
+    }
+
+    /** Number of cells revealed by the last {@link #cascade} call. */
+    public int getChangedCount() {
+        return changedCount;
+    }
+
+    /**
+     * Packed index ({@code row * size + col}) of the i-th cell revealed by the
+     * last cascade, in reveal order.
+     */
+    public int getChangedCell(int i) {
+        if (i < 0 || i >= changedCount) {
+            throw new IndexOutOfBoundsException("Changed cell " + i + " of " + changedCount);
+        }
+        return changed[i];
+    }
+}
@@ -1,38 +1,67 @@
 package minesweeper.model;
 
+/**
+ * A single square of a {@link Board}.
+ *
+ * The state itself lives in the board's packed {@code short[]} (see the bit
+ * layout in {@link Board}); a Cell only remembers which slot to read, so it is
+ * a thin view that stays in sync with the board and costs nothing to create.
+ * Every setter marks the slot dirty on its board so the view layer can repaint
+ * just what changed. A Cell built with the no-arg constructor owns a private
+ * one-slot array and has no board.
+ */
 public class Cell {
     // Nested enum for cell types
     public enum CellType {
         EMPTY, NUMBER, MINE, QUESTION, SURPRISE
     }
-    
-    private CellType type;
-    private int adjacentMines;
-    private boolean isRevealed;
-    private boolean isFlagged;
-    private boolean isUsed;
+
+    private final Board board;
+    private final short[] state;
+    private final int index;
 
     public Cell() {
-        this.type = CellType.EMPTY;
-        this.adjacentMines = 0;
-        this.isRevealed = false;
-        this.isFlagged = false;
-        this.isUsed = false;
+        this.board = null;
+        this.state = new short[1];
+        this.index = 0;
+    }
+
+    Cell(Board board, short[] state, int index) {
+        this.board = board;
+        this.state = state;
+        this.index = index;
     }
 
     // Getters and Setters
-    public CellType getType() { return type; }
-    public void setType(CellType type) { this.type = type; }
-    
-    public int getAdjacentMines() { return adjacentMines; }
-    public void setAdjacentMines(int adjacentMines) { this.adjacentMines = adjacentMines; }
-    
-    public boolean isRevealed() { return isRevealed; }
-    public void setRevealed(boolean revealed) { this.isRevealed = revealed; }
-    
-    public boolean isFlagged() { return isFlagged; }
-    public void setFlagged(boolean flagged) { this.isFlagged = flagged; }
-    
-    public boolean isUsed() { return isUsed; }
-    public void setUsed(boolean used) { this.isUsed = used; }
+    public CellType getType() { return Board.typeOf(state[index]); }
+    public void setType(CellType type) {
+        state[index] = Board.withType(state[index], type);
+        changed();
+    }
+
+    public int getAdjacentMines() { return state[index] & Board.ADJACENT_MASK; }
+    public void setAdjacentMines(int adjacentMines) {
+        state[index] = (short) ((state[index] & ~Board.ADJACENT_MASK) | (adjacentMines & Board.ADJACENT_MASK));
+        changed();
+    }
+
+    public boolean isRevealed() { return (state[index] & Board.REVEALED) != 0; }
+    public void setRevealed(boolean revealed) { setBit(Board.REVEALED, revealed); }
+
+    public boolean isFlagged() { return (state[index] & Board.FLAGGED) != 0; }
+    public void setFlagged(boolean flagged) { setBit(Board.FLAGGED, flagged); }
+
+    public boolean isUsed() { return (state[index] & Board.USED) != 0; }
+    public void setUsed(boolean used) { setBit(Board.USED, used); }
+
+    private void setBit(int bit, boolean on) {
+        state[index] = (short) (on ? state[index] | bit : state[index] & ~bit);
+        changed();
+    }
+
+    private void changed() {
+        if (board != null) {
+            board.markDirty(index);
+        }
+    }
 }
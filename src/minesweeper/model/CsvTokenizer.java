@@ -0,0 +1,324 @@
+package minesweeper.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming CSV tokenizer over one reusable char buffer.
+ *
+ * Records are read straight into the buffer and a field is only a start and
+ * end offset into it; nothing is copied unless a caller asks for a field as
+ * a String, and numbers are parsed in place. Quotes are removed by moving
+ * the rest of the field left inside the buffer, so quoted fields are still
+ * one contiguous range. A record that does not fit is moved to the front of
+ * the buffer before reading more, and the buffer only grows for a single
+ * record longer than it.
+ *
+ * Quoting: a quote at the start of a field (after optional blanks) opens a
+ * quoted section, which ends at the next single quote; commas and line
+ * breaks inside it are data, so a record may span several lines, and a
+ * doubled quote inside it is a literal quote (as written by
+ * QuestionBank.saveToFile). A quote anywhere else is an ordinary character,
+ * so a stray quote in a question text cannot swallow the following lines.
+ * Fields are trimmed like String.trim.
+ *
+ * A tokenizer can also run over a range of a char array that is already in
+ * memory; {@link #split} cuts such an array into ranges of whole records
+ * that can be tokenized independently (and in parallel, as the tokenizer
+ * only writes inside its own range).
+ *
+ * Usage: {@code while (tokenizer.nextRecord()) { ... tokenizer.field(i) ... }}
+ */
+final class CsvTokenizer {
+
+    private static final int DEFAULT_BUFFER = 1 << 16;
+
+    private final Reader reader;
+    private char[] buf;
+    private CharBuffer view;   // wraps buf, for Integer.parseInt without a String
+    private int limit;         // buf[0, limit) holds data read so far
+    private int pos;           // next char to scan
+    private boolean eof;
+
+    // Current record, as offsets into buf
+    private int recordStart;
+    private int fieldStart;
+    private int write;         // where the next char of the current field goes
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int fieldCount;
+
+    private int line = 1;      // physical line of pos
+    private int recordLine;
+
+    CsvTokenizer(Reader reader) {
+        this(reader, DEFAULT_BUFFER);
+    }
+
+    CsvTokenizer(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buf = new char[Math.max(16, bufferSize)];
+        this.view = CharBuffer.wrap(buf);
+    }
+
+    /**
+     * Tokenizes {@code data[from, to)}, which must start at a record; the
+     * quotes of quoted fields are removed in place in that range.
+     *
+     * @param firstLine Line number of the record at {@code from}
+     */
+    CsvTokenizer(char[] data, int from, int to, int firstLine) {
+        this.reader = null;
+        this.buf = data;
+        this.view = CharBuffer.wrap(data);
+        this.pos = from;
+        this.limit = to;
+        this.eof = true;
+        this.line = firstLine;
+    }
+
+    /**
+     * Reads the next record. A leading byte order mark is skipped.
+     *
+     * @return false at the end of the input
+     */
+    boolean nextRecord() throws IOException {
+        fieldCount = 0;
+        recordStart = pos;
+        recordLine = line;
+        if (pos == limit && !fill()) {
+            return false;
+        }
+        if (recordLine == 1 && pos == 0 && buf[0] == '\uFEFF') {
+            recordStart = ++pos;
+        }
+
+        fieldStart = write = pos;
+        boolean inQuotes = false;
+        boolean hasData = false; // anything but blanks in this field yet
+        while (true) {
+            if (pos == limit && !fill()) {
+                endField();
+                return true;
+            }
+            char c = buf[pos++];
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        pos++;
+                        buf[write++] = '"';
+                    } else {
+                        inQuotes = false;
+                    }
+                    continue;
+                }
+                if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                    line++;
+                }
+                buf[write++] = c;
+            } else if (c == ',') {
+                endField();
+                fieldStart = write = pos;
+                hasData = false;
+            } else if (c == '"' && !hasData) {
+                inQuotes = hasData = true;
+            } else if (c == '\n' || c == '\r') {
+                endField();
+                if (c == '\r' && peek() == '\n') {
+                    pos++;
+                }
+                line++;
+                return true;
+            } else {
+                if (write != pos - 1) {
+                    buf[write] = c;
+                }
+                write++;
+                hasData |= c > ' ';
+            }
+        }
+    }
+
+    /** Number of fields in the current record. */
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    /** Line on which the current record starts (the first line is 1). */
+    int lineNumber() {
+        return recordLine;
+    }
+
+    /** Offset of the next record (only meaningful for an array tokenizer). */
+    int position() {
+        return pos;
+    }
+
+    /** Line number of the next record. */
+    int currentLine() {
+        return line;
+    }
+
+    /** True if the record is an empty or whitespace-only line. */
+    boolean isBlank() {
+        return fieldCount == 1 && isEmpty(0);
+    }
+
+    /** Field {@code i}, trimmed, as a new String. */
+    String field(int i) {
+        int s = trimmedStart(i);
+        return new String(buf, s, trimmedEnd(i, s) - s);
+    }
+
+    boolean isEmpty(int i) {
+        int s = trimmedStart(i);
+        return trimmedEnd(i, s) == s;
+    }
+
+    /** First char of the trimmed field; the field must not be empty. */
+    char firstChar(int i) {
+        return buf[trimmedStart(i)];
+    }
+
+    /**
+     * Parses the trimmed field as a decimal int, like Integer.parseInt.
+     *
+     * @throws NumberFormatException if it is not one
+     */
+    int intField(int i) {
+        int s = trimmedStart(i);
+        int e = trimmedEnd(i, s);
+        if (s == e) {
+            throw new NumberFormatException("empty field");
+        }
+        return Integer.parseInt(view, s, e, 10);
+    }
+
+    /**
+     * Cuts {@code data[from, to)} into about {@code parts} ranges of whole
+     * records. Only tracks quotes and line breaks, with the same rules as
+     * nextRecord, so a line break inside a quoted field is never a cut.
+     *
+     * @param firstLine Line number of the record at {@code from}
+     * @return {start, end, first line} for each range, in order
+     */
+    static List<int[]> split(char[] data, int from, int to, int firstLine, int parts) {
+        List<int[]> ranges = new ArrayList<>();
+        int target = Math.max(1, (to - from) / Math.max(1, parts));
+        int start = from;
+        int startLine = firstLine;
+        int line = firstLine;
+        boolean inQuotes = false;
+        boolean hasData = false;
+
+        for (int i = from; i < to; i++) {
+            char c = data[i];
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < to && data[i + 1] == '"') {
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else if (c == '\n' || (c == '\r' && !(i + 1 < to && data[i + 1] == '\n'))) {
+                    line++;
+                }
+            } else if (c == ',') {
+                hasData = false;
+            } else if (c == '"' && !hasData) {
+                inQuotes = hasData = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < to && data[i + 1] == '\n') {
+                    i++;
+                }
+                line++;
+                hasData = false;
+                if (i + 1 - start >= target && i + 1 < to) {
+                    ranges.add(new int[]{start, i + 1, startLine});
+                    start = i + 1;
+                    startLine = line;
+                }
+            } else {
+                hasData |= c > ' ';
+            }
+        }
+        ranges.add(new int[]{start, to, startLine});
+        return ranges;
+    }
+
+    // ==================== HELPERS ====================
+
+    private void endField() {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        starts[fieldCount] = fieldStart;
+        ends[fieldCount] = write;
+        fieldCount++;
+    }
+
+    private int trimmedStart(int i) {
+        int s = starts[i];
+        int e = ends[i];
+        while (s < e && buf[s] <= ' ') s++;
+        return s;
+    }
+
+    private int trimmedEnd(int i, int trimmedStart) {
+        int e = ends[i];
+        while (e > trimmedStart && buf[e - 1] <= ' ') e--;
+        return e;
+    }
+
+    /** The next char without consuming it, or -1 at the end of the input. */
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buf[pos];
+    }
+
+    /**
+     * Reads more input behind {@code limit}, first moving the current record
+     * to the front of the buffer (or growing it if the record fills it).
+     *
+     * @return false if the input is exhausted
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (recordStart > 0) {
+            int shift = recordStart;
+            System.arraycopy(buf, shift, buf, 0, limit - shift);
+            for (int i = 0; i < fieldCount; i++) {
+                starts[i] -= shift;
+                ends[i] -= shift;
+            }
+            limit -= shift;
+            pos -= shift;
+            fieldStart -= shift;
+            write -= shift;
+            recordStart = 0;
+        } else if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+            view = CharBuffer.wrap(buf);
+        }
+
+        int n = reader.read(buf, limit, buf.length - limit);
+        while (n == 0) {
+            n = reader.read(buf, limit, buf.length - limit);
+        }
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+}
@@ -18,4 +18,17 @@ public class CombinedFilterStrategy implements HistoryFilterStrategy {
         }
         return true;
     }
+
+    @Override
+    public int[] select(HistoryIndex index) {
+        int[] result = HistoryIndex.ALL;
+        for (HistoryFilterStrategy f : filters) {
+            if (f == null) continue;
+            int[] ids = f.select(index);
+            if (ids == null) return null; // one unindexed filter forces a scan
+            result = HistoryIndex.intersect(result, ids);
+            if (result.length == 0 && result != HistoryIndex.ALL) break;
+        }
+        return result;
+    }
 }
@@ -14,4 +14,10 @@ public class DifficultyFilterStrategy implements HistoryFilterStrategy {
         if (difficulty == null || difficulty.isBlank() || "ALL".equalsIgnoreCase(difficulty)) return true;
         return h.getDifficulty() != null && h.getDifficulty().name().equalsIgnoreCase(difficulty);
     }
+
+    @Override
+    public int[] select(HistoryIndex index) {
+        if (difficulty == null || difficulty.isBlank() || "ALL".equalsIgnoreCase(difficulty)) return HistoryIndex.ALL;
+        return index.difficulty(difficulty);
+    }
 }
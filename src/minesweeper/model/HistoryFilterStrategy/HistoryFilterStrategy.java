@@ -5,4 +5,14 @@ import minesweeper.model.GameHistory;
 
 public interface HistoryFilterStrategy {
     boolean matches(GameHistory h);
+
+    /**
+     * Ascending ids of the records in {@code index} that match, or
+     * {@link HistoryIndex#ALL} if this filter lets everything through.
+     * Returns null when the filter cannot be answered from the index;
+     * callers then scan with {@link #matches}.
+     */
+    default int[] select(HistoryIndex index) {
+        return null;
+    }
 }
@@ -0,0 +1,247 @@
+package minesweeper.model.HistoryFilterStrategy;
+
+import minesweeper.model.GameHistory;
+import minesweeper.model.GameSession;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Secondary indexes over a growing list of games, so the history screen can
+ * filter and sort without scanning every record.
+ *
+ * Records are identified by their position (id) in the list they were added
+ * from. The index keeps:
+ * - posting lists of ids per user (case-insensitive), per difficulty and per
+ *   outcome, each in ascending id order because ids are only ever appended;
+ * - all ids ordered by score, as packed (score << 32 | id) keys.
+ *
+ * Filters resolve to posting lists through {@link HistoryFilterStrategy#select}
+ * and are combined by intersecting them; sorts resolve through
+ * {@link HistorySortStrategy#order}. Both return null for strategies the
+ * index does not know, and callers then fall back to a plain scan.
+ *
+ * Not thread-safe: the owner (GameHistoryLogic) guards it.
+ */
+public class HistoryIndex {
+
+    /**
+     * Returned by {@link HistoryFilterStrategy#select} when a filter does not
+     * restrict anything (e.g. "ALL"). Compared by identity.
+     */
+    public static final int[] ALL = new int[0];
+
+    private static final int[] NONE = new int[0];
+
+    private final Map<String, IntList> byUser = new HashMap<>();
+    private final Map<GameSession.Difficulty, IntList> byDifficulty = new EnumMap<>(GameSession.Difficulty.class);
+    private final IntList wins = new IntList();
+    private final IntList losses = new IntList();
+
+    private int[] scores = new int[16];     // score by id
+    private long[] scoreKeys = new long[16]; // first sortedKeys are sorted, the rest pending
+    private int sortedKeys;
+    private int size;
+
+    /** Indexes {@code h} under the next id. */
+    public void add(GameHistory h) {
+        int id = size++;
+
+        if (h.getUsername() != null) {
+            byUser.computeIfAbsent(key(h.getUsername()), k -> new IntList()).add(id);
+        }
+        if (h.getDifficulty() != null) {
+            byDifficulty.computeIfAbsent(h.getDifficulty(), k -> new IntList()).add(id);
+        }
+        (h.isCoopWin() ? wins : losses).add(id);
+
+        if (id == scores.length) {
+            scores = Arrays.copyOf(scores, id * 2);
+            scoreKeys = Arrays.copyOf(scoreKeys, id * 2);
+        }
+        scores[id] = h.getFinalScore();
+        scoreKeys[id] = pack(h.getFinalScore(), id);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // ==================== POSTING LISTS ====================
+
+    /** Ids of games saved by {@code username}, ignoring case. */
+    public int[] user(String username) {
+        IntList ids = byUser.get(key(username));
+        return ids == null ? NONE : ids.toArray();
+    }
+
+    /** Ids of games played on {@code difficulty} (a Difficulty name, any case). */
+    public int[] difficulty(String difficulty) {
+        for (GameSession.Difficulty d : GameSession.Difficulty.values()) {
+            if (d.name().equalsIgnoreCase(difficulty)) {
+                IntList ids = byDifficulty.get(d);
+                return ids == null ? NONE : ids.toArray();
+            }
+        }
+        return NONE;
+    }
+
+    /** Ids of won (or lost) games. */
+    public int[] outcome(boolean won) {
+        return (won ? wins : losses).toArray();
+    }
+
+    /** Ids present in both ascending lists; either may be {@link #ALL}. */
+    public static int[] intersect(int[] a, int[] b) {
+        if (a == ALL) return b;
+        if (b == ALL) return a;
+
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Ids matching {@code filter}, ordered by {@code sort} (either may be
+     * null), or null if one of them cannot be answered from the index.
+     */
+    public int[] query(HistoryFilterStrategy filter, HistorySortStrategy sort) {
+        int[] ids = filter == null ? ALL : filter.select(this);
+        if (ids == null) return null;
+
+        if (sort != null) {
+            return sort.order(this, ids);
+        }
+        return ids == ALL ? allIds() : ids;
+    }
+
+    /**
+     * Orders {@code ids} (ascending, or {@link #ALL}) by score. Equal scores
+     * stay in id order, matching a stable sort of the unsorted list.
+     */
+    public int[] sortByScore(int[] ids, boolean descending) {
+        mergePendingKeys();
+
+        int[] ordered;
+        if (ids == ALL) {
+            ordered = new int[size];
+            for (int i = 0; i < size; i++) ordered[i] = (int) scoreKeys[i];
+        } else if (ids.length > (size >>> 4)) {
+            ordered = walkScoreOrder(ids);
+        } else {
+            ordered = sortSubset(ids);
+        }
+
+        if (descending) {
+            reverseKeepingTies(ordered);
+        }
+        return ordered;
+    }
+
+    // ==================== INTERNAL ====================
+
+    /** Large subsets: one pass over the global score order, O(size). */
+    private int[] walkScoreOrder(int[] ids) {
+        long[] member = new long[(size + 63) >>> 6];
+        for (int id : ids) member[id >>> 6] |= 1L << id;
+
+        int[] ordered = new int[ids.length];
+        int n = 0;
+        for (int i = 0; i < size && n < ordered.length; i++) {
+            int id = (int) scoreKeys[i];
+            if ((member[id >>> 6] & (1L << id)) != 0) ordered[n++] = id;
+        }
+        return ordered;
+    }
+
+    /** Small subsets: sort just their keys, O(k log k). */
+    private int[] sortSubset(int[] ids) {
+        long[] keys = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) keys[i] = pack(scores[ids[i]], ids[i]);
+        Arrays.sort(keys);
+
+        int[] ordered = new int[ids.length];
+        for (int i = 0; i < keys.length; i++) ordered[i] = (int) keys[i];
+        return ordered;
+    }
+
+    /** Turns ascending (score, id) order into descending score, ascending id. */
+    private void reverseKeepingTies(int[] ordered) {
+        reverse(ordered, 0, ordered.length);
+        int start = 0;
+        for (int i = 1; i <= ordered.length; i++) {
+            if (i == ordered.length || scores[ordered[i]] != scores[ordered[start]]) {
+                reverse(ordered, start, i);
+                start = i;
+            }
+        }
+    }
+
+    private static void reverse(int[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /** Sorts keys added since the last query and merges them in, O(size). */
+    private void mergePendingKeys() {
+        if (sortedKeys == size) return;
+
+        Arrays.sort(scoreKeys, sortedKeys, size);
+        long[] merged = new long[scoreKeys.length];
+        int i = 0, j = sortedKeys, n = 0;
+        while (i < sortedKeys && j < size) {
+            merged[n++] = scoreKeys[i] <= scoreKeys[j] ? scoreKeys[i++] : scoreKeys[j++];
+        }
+        while (i < sortedKeys) merged[n++] = scoreKeys[i++];
+        while (j < size) merged[n++] = scoreKeys[j++];
+
+        scoreKeys = merged;
+        sortedKeys = size;
+    }
+
+    private int[] allIds() {
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) ids[i] = i;
+        return ids;
+    }
+
+    private static long pack(int score, int id) {
+        return ((long) score << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    private static String key(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+
+    /** Growable int array used for posting lists. */
+    private static final class IntList {
+        private int[] items = new int[8];
+        private int count;
+
+        void add(int value) {
+            if (count == items.length) items = Arrays.copyOf(items, count * 2);
+            items[count++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(items, count);
+        }
+    }
+}
@@ -5,4 +5,13 @@ import java.util.Comparator;
 
 public interface HistorySortStrategy {
     Comparator<GameHistory> comparator();
+
+    /**
+     * Orders the given ids (ascending, or {@link HistoryIndex#ALL}) the same
+     * way {@link #comparator} would, using {@code index}. Returns null when the
+     * index cannot answer this sort.
+     */
+    default int[] order(HistoryIndex index, int[] ids) {
+        return null;
+    }
 }
@@ -8,4 +8,9 @@ public class ScoreAscSortStrategy implements HistorySortStrategy {
     public Comparator<GameHistory> comparator() {
         return Comparator.comparingInt(GameHistory::getFinalScore);
     }
+
+    @Override
+    public int[] order(HistoryIndex index, int[] ids) {
+        return index.sortByScore(ids, false);
+    }
 }
@@ -8,4 +8,9 @@ public class ScoreDescSortStrategy implements HistorySortStrategy {
     public Comparator<GameHistory> comparator() {
         return (a, b) -> Integer.compare(b.getFinalScore(), a.getFinalScore());
     }
+
+    @Override
+    public int[] order(HistoryIndex index, int[] ids) {
+        return index.sortByScore(ids, true);
+    }
 }
@@ -14,4 +14,10 @@ public class UserFilterStrategy implements HistoryFilterStrategy {
         if (username == null || username.isBlank() || "ALL".equalsIgnoreCase(username)) return true;
         return username.equalsIgnoreCase(h.getUsername());
     }
+
+    @Override
+    public int[] select(HistoryIndex index) {
+        if (username == null || username.isBlank() || "ALL".equalsIgnoreCase(username)) return HistoryIndex.ALL;
+        return index.user(username);
+    }
 }
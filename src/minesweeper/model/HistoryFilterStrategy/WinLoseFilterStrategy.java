@@ -18,4 +18,11 @@ public class WinLoseFilterStrategy implements HistoryFilterStrategy {
 
         return true; // fallback
     }
+
+    @Override
+    public int[] select(HistoryIndex index) {
+        if ("WIN".equalsIgnoreCase(mode)) return index.outcome(true);
+        if ("LOSE".equalsIgnoreCase(mode)) return index.outcome(false);
+        return HistoryIndex.ALL; // same fallback as matches()
+    }
 }
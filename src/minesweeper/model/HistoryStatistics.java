@@ -0,0 +1,232 @@
+package minesweeper.model;
+
+import minesweeper.model.HistoryFilterStrategy.HistoryFilterStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Running statistics over saved games, for the History stats dialog.
+ *
+ * Games are bucketed by (username, difficulty, outcome). Each bucket keeps
+ * counts, score and duration sums, best score, the latest game and a small
+ * min-heap with its TOP_N highest scores, all updated in O(1) per added
+ * game. A summary for any filter merges the matching buckets, so its cost
+ * depends on the number of users, not the number of games.
+ *
+ * Filters are evaluated once per bucket against a sample game, so they must
+ * only depend on username, difficulty and outcome - true for every filter
+ * the history screen uses.
+ *
+ * Not thread-safe: the owner (GameHistoryLogic) guards it.
+ */
+public class HistoryStatistics {
+
+    public static final int TOP_N = 3;
+
+    /** Best first; equal scores keep the order games were added in. */
+    private static final Comparator<Ranked> BEST_FIRST = (a, b) -> a.score != b.score
+            ? Integer.compare(b.score, a.score)
+            : Integer.compare(a.seq, b.seq);
+
+    private final Map<String, Bucket[]> buckets = new HashMap<>();
+    private int added;
+
+    /** Adds one game to the running totals. */
+    public void add(GameHistory h) {
+        Bucket[] userBuckets = buckets.computeIfAbsent(h.getUsername(),
+                k -> new Bucket[GameSession.Difficulty.values().length * 2]);
+
+        int slot = (h.getDifficulty() == null ? 0 : h.getDifficulty().ordinal()) * 2 + (h.isCoopWin() ? 1 : 0);
+        Bucket bucket = userBuckets[slot];
+        if (bucket == null) {
+            bucket = userBuckets[slot] = new Bucket(h);
+        }
+        bucket.add(h, added++);
+    }
+
+    /**
+     * Statistics of all games accepted by every given filter (null filters
+     * are ignored).
+     */
+    public Summary summarize(HistoryFilterStrategy... filters) {
+        Summary summary = new Summary();
+        List<Ranked> candidates = new ArrayList<>();
+
+        for (Bucket[] userBuckets : buckets.values()) {
+            for (Bucket bucket : userBuckets) {
+                if (bucket == null || !accepts(filters, bucket.sample)) continue;
+                summary.merge(bucket);
+                candidates.addAll(bucket.top);
+            }
+        }
+
+        candidates.sort(BEST_FIRST);
+        for (int i = 0; i < Math.min(TOP_N, candidates.size()); i++) {
+            summary.top.add(candidates.get(i).game);
+        }
+        return summary;
+    }
+
+    /** Every username that has at least one game (may include null). */
+    public Set<String> getUsernames() {
+        return Collections.unmodifiableSet(buckets.keySet());
+    }
+
+    private static boolean accepts(HistoryFilterStrategy[] filters, GameHistory sample) {
+        for (HistoryFilterStrategy f : filters) {
+            if (f != null && !f.matches(sample)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses "mm:ss" or plain seconds, the formats found in history.json.
+     * Returns -1 if the duration is missing or unreadable.
+     */
+    static int parseDurationSeconds(String duration) {
+        if (duration == null) return -1;
+        String d = duration.trim();
+        try {
+            int colon = d.indexOf(':');
+            if (colon < 0) return Integer.parseInt(d);
+            if (d.indexOf(':', colon + 1) >= 0) return -1;
+            return Integer.parseInt(d.substring(0, colon)) * 60 + Integer.parseInt(d.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // ==================== BUCKET ====================
+
+    private static final class Ranked {
+        final GameHistory game;
+        final int score;
+        final int seq;
+
+        Ranked(GameHistory game, int seq) {
+            this.game = game;
+            this.score = game.getFinalScore();
+            this.seq = seq;
+        }
+    }
+
+    private static final class Bucket {
+        final GameHistory sample;
+        // min-heap on BEST_FIRST: the head is the weakest of the kept TOP_N
+        final PriorityQueue<Ranked> top = new PriorityQueue<>(TOP_N + 1, BEST_FIRST.reversed());
+
+        int count;
+        int wins;
+        long scoreSum;
+        int bestScore = Integer.MIN_VALUE;
+        long durationSum;
+        int durationCount;
+        GameHistory latest;
+
+        Bucket(GameHistory sample) {
+            this.sample = sample;
+        }
+
+        void add(GameHistory h, int seq) {
+            count++;
+            if (h.isCoopWin()) wins++;
+            scoreSum += h.getFinalScore();
+            bestScore = Math.max(bestScore, h.getFinalScore());
+
+            int seconds = parseDurationSeconds(h.getDuration());
+            if (seconds >= 0) {
+                durationSum += seconds;
+                durationCount++;
+            }
+
+            if (latest == null || !h.getDateTime().isBefore(latest.getDateTime())) {
+                latest = h;
+            }
+
+            top.offer(new Ranked(h, seq));
+            if (top.size() > TOP_N) top.poll();
+        }
+    }
+
+    // ==================== SUMMARY ====================
+
+    /** Merged statistics for one stats-dialog query. */
+    public static class Summary {
+        private int total;
+        private int wins;
+        private long scoreSum;
+        private int bestScore = Integer.MIN_VALUE;
+        private long durationSum;
+        private int durationCount;
+        private GameHistory lastPlayed;
+        private final int[] perDifficulty = new int[GameSession.Difficulty.values().length];
+        private final List<GameHistory> top = new ArrayList<>(TOP_N);
+
+        private void merge(Bucket b) {
+            total += b.count;
+            wins += b.wins;
+            scoreSum += b.scoreSum;
+            bestScore = Math.max(bestScore, b.bestScore);
+            durationSum += b.durationSum;
+            durationCount += b.durationCount;
+            if (lastPlayed == null || !b.latest.getDateTime().isBefore(lastPlayed.getDateTime())) {
+                lastPlayed = b.latest;
+            }
+            if (b.sample.getDifficulty() != null) {
+                perDifficulty[b.sample.getDifficulty().ordinal()] += b.count;
+            }
+        }
+
+        public int getTotal() { return total; }
+        public int getWins() { return wins; }
+        public int getLosses() { return total - wins; }
+
+        public double getWinRate() {
+            return total == 0 ? 0 : wins * 100.0 / total;
+        }
+
+        /** Best score, or null if there are no games. */
+        public Integer getBestScore() {
+            return total == 0 ? null : bestScore;
+        }
+
+        /** Average score, or null if there are no games. */
+        public Double getAverageScore() {
+            return total == 0 ? null : scoreSum / (double) total;
+        }
+
+        /** Average duration in whole seconds, or -1 if none could be read. */
+        public long getAverageDurationSeconds() {
+            return durationCount == 0 ? -1 : durationSum / durationCount;
+        }
+
+        /** Most recently played game, or null. */
+        public GameHistory getLastPlayed() { return lastPlayed; }
+
+        public int getCount(GameSession.Difficulty difficulty) {
+            return perDifficulty[difficulty.ordinal()];
+        }
+
+        /** Difficulty with the most games (first one on ties), or null. */
+        public GameSession.Difficulty getMostPlayedDifficulty() {
+            GameSession.Difficulty most = null;
+            for (GameSession.Difficulty d : GameSession.Difficulty.values()) {
+                if (perDifficulty[d.ordinal()] > 0
+                        && (most == null || perDifficulty[d.ordinal()] > perDifficulty[most.ordinal()])) {
+                    most = d;
+                }
+            }
+            return most;
+        }
+
+        /** Up to TOP_N games with the highest scores, best first. */
+        public List<GameHistory> getTop() { return top; }
+    }
+}
@@ -99,7 +99,7 @@ public class MinesweeperApp {
                 try {
                     questionBank = new QuestionBank();
                     try (FileInputStream fis = new FileInputStream(savedFile)) {
-                        questionBank.loadFromInputStream(fis);
+                        questionBank.load(fis);
                     }
                     System.out.println("Loaded " + questionBank.getQuestionCount() + " questions for user from: " + savedPath);
                     loaded = true;
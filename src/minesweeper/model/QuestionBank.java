@@ -1,10 +1,16 @@
 package minesweeper.model;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
 
 /**
  * Manages the collection of questions loaded from a CSV file.
@@ -15,6 +21,15 @@ import java.io.FileWriter;
  *
  * Example:
  * 1,What color is the sky?,1,Blue,Green,Red,Yellow,A
+ *
+ * Besides the list in file order, the questions are kept in one array per
+ * difficulty (see randomQuestion). Every change goes through
+ * clearQuestions / putQuestion / removeQuestion so both stay in sync;
+ * removal swaps the last question of the array into the freed slot, so all
+ * updates to the index are O(1).
+ *
+ * Loading, editing, listing and searching are synchronized, so the question
+ * wizard can search on a background thread while the EDT edits the bank.
  */
 public class QuestionBank {
 
@@ -24,10 +39,40 @@ public class QuestionBank {
     };
     private static final int EXPECTED_COLUMN_COUNT = 8;
 
+    // Below this many chars a parallel import parses on the calling thread;
+    // each chunk should be worth a fork.
+    private static final int PARALLEL_CHUNK_MIN_CHARS = 1 << 18;
+
     private List<Question> questions;
     private String csvPath;
     private List<String> parseErrors;  // Tracks errors for reporting
 
+    // Per-difficulty index: buckets[difficulty.ordinal()][0 .. bucketSizes[..])
+    private final Question[][] buckets = new Question[QuestionDifficulty.values().length][];
+    private final int[] bucketSizes = new int[QuestionDifficulty.values().length];
+    // question -> slot in its bucket. IDs are unique, but the key is always the
+    // stored instance, so identity is enough and skips Question.equals
+    private final Map<Question, Integer> bucketSlots = new IdentityHashMap<>();
+    private final int[] bucketVersions = new int[QuestionDifficulty.values().length]; // bumped on every change
+
+    // Built on the first similarity lookup, then kept up to date; null until then
+    private SimilarityIndex similarityIndex;
+    // Built on the first search, then kept up to date; null until then
+    private QuestionSearchIndex searchIndex;
+
+    /** Question IDs remembered per player to avoid asking them again soon. */
+    public static final int RECENT_QUESTIONS_PER_USER = 64;
+    private static final int MAX_TRACKED_USERS = 1024;
+
+    // Least recently used players are forgotten first
+    private final Map<String, QuestionSampler.RecentQuestions> recentByUser =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, QuestionSampler.RecentQuestions> eldest) {
+                    return size() > MAX_TRACKED_USERS;
+                }
+            };
+
     /**
      * Creates a QuestionBank and loads questions from the specified CSV file.
      *
@@ -37,6 +82,7 @@ public class QuestionBank {
         this.csvPath = csvPath;
         this.questions = new ArrayList<>();
         this.parseErrors = new ArrayList<>();
+        clearQuestions();
     }
 
     /**
@@ -46,6 +92,7 @@ public class QuestionBank {
         this.csvPath = null;
         this.questions = new ArrayList<>();
         this.parseErrors = new ArrayList<>();
+        clearQuestions();
     }
 
     /**
@@ -72,9 +119,9 @@ public class QuestionBank {
      * @param filePath Path to the CSV file in classpath (e.g., "/Questions/Questions.csv")
      * @throws CSVParseException if the file cannot be parsed
      */
-    public void loadFromCsv(String filePath) throws CSVParseException {
+    public synchronized void loadFromCsv(String filePath) throws CSVParseException {
         this.csvPath = filePath;
-        this.questions.clear();
+        clearQuestions();
         this.parseErrors.clear();
 
         // Load from classpath
@@ -84,178 +131,299 @@ public class QuestionBank {
             throw new CSVParseException("File not found in classpath: " + filePath);
         }
 
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+        readCsv(inputStream, true);
+    }
 
-            String headerLine = reader.readLine();
+    /**
+     * Loads questions from an InputStream (for custom user uploads when GUI with 'select CSV file' is implemented)
+     *
+     * @param inputStream The input stream containing CSV data
+     * @throws CSVParseException if the stream cannot be parsed
+     */
+    public synchronized void loadFromInputStream(InputStream inputStream) throws CSVParseException {
+        clearQuestions();
+        this.parseErrors.clear();
+
+        readCsv(inputStream, false);
+    }
+
+    /**
+     * Loads questions from an InputStream, parsing in parallel only when it
+     * pays off: with more than one worker and a file long enough for more
+     * than one chunk. Everything else is streamed by
+     * {@link #loadFromInputStream}; only the first few hundred KB are read
+     * ahead to decide.
+     *
+     * @param inputStream The input stream containing CSV data
+     * @throws CSVParseException if the stream cannot be parsed
+     */
+    public synchronized void load(InputStream inputStream) throws CSVParseException {
+        if (ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            loadFromInputStream(inputStream);
+            return;
+        }
 
-            // Handle BOM (Byte Order Mark) if present
-            if (headerLine != null && headerLine.startsWith("\uFEFF")) {
-                headerLine = headerLine.substring(1);
+        // A UTF-8 char is at least one byte, so fewer bytes than two chunks
+        // can never be split
+        byte[] head;
+        try {
+            head = inputStream.readNBytes(2 * PARALLEL_CHUNK_MIN_CHARS);
+        } catch (IOException e) {
+            try {
+                inputStream.close();
+            } catch (IOException ignored) {
             }
+            throw new CSVParseException("Error reading CSV data: " + e.getMessage());
+        }
 
-            // Check for empty file
-            if (headerLine == null || headerLine.trim().isEmpty()) {
-                throw new CSVParseException("CSV file is empty.");
+        if (head.length < 2 * PARALLEL_CHUNK_MIN_CHARS) {
+            try {
+                inputStream.close();
+            } catch (IOException ignored) {
             }
+            loadFromInputStream(new ByteArrayInputStream(head));
+        } else {
+            loadFromInputStreamParallel(new SequenceInputStream(new ByteArrayInputStream(head), inputStream));
+        }
+    }
 
-            // Validate headers
-            validateHeaders(headerLine);
+    /**
+     * Loads questions like {@link #loadFromInputStream}, but parses large
+     * files in parallel: the file is read into memory, cut into chunks of
+     * whole records, and the chunks are parsed and validated on the common
+     * ForkJoin pool. The rows are then added, and their errors recorded, in
+     * file order, so questions, parse errors and exceptions are exactly those
+     * of a sequential load.
+     *
+     * @param inputStream The input stream containing CSV data
+     * @throws CSVParseException if the stream cannot be parsed
+     */
+    public synchronized void loadFromInputStreamParallel(InputStream inputStream) throws CSVParseException {
+        clearQuestions();
+        this.parseErrors.clear();
 
-            // Parse data rows
-            String line;
-            int lineNumber = 1; // Start after header
-            int successCount = 0;
+        char[] data;
+        int length;
+        try (InputStream in = inputStream) {
+            // Same replacement of malformed bytes as InputStreamReader
+            CharBuffer chars = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(ByteBuffer.wrap(in.readAllBytes()));
+            data = chars.array();
+            length = chars.limit();
+        } catch (IOException e) {
+            throw new CSVParseException("Error reading CSV data: " + e.getMessage());
+        }
 
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
+        try {
+            CsvTokenizer header = new CsvTokenizer(data, 0, length, 1);
+            readHeader(header, false);
+
+            int start = header.position();
+            int chunks = Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                    (length - start) / PARALLEL_CHUNK_MIN_CHARS);
+            List<int[]> ranges = CsvTokenizer.split(data, start, length, header.currentLine(), chunks);
+
+            // Each chunk only writes inside its own range of data
+            List<List<ParsedRow>> parsed = IntStream.range(0, ranges.size()).parallel()
+                    .mapToObj(i -> {
+                        int[] range = ranges.get(i);
+                        return parseRows(new CsvTokenizer(data, range[0], range[1], range[2]));
+                    })
+                    .toList();
+
+            Map<Integer, Integer> idLines = new HashMap<>();
+            boolean hasRows = false;
+            for (List<ParsedRow> rows : parsed) {
+                for (ParsedRow row : rows) {
+                    hasRows = true;
+                    if (row.error != null) {
+                        parseErrors.add(row.error);
+                    } else if (row.question != null) {
+                        acceptRow(row.question, row.line, idLines);
+                    }
+                }
+            }
+            checkAnyValid(hasRows, false);
+        } catch (IOException e) {
+            throw new CSVParseException("Error reading CSV data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the header and all rows of a CSV stream into the (cleared) bank.
+     * Rows that fail to parse are recorded in parseErrors and skipped.
+     *
+     * @param inputStream The CSV data, closed when done
+     * @param fromFile    Whether it is a CSV file (for the error messages)
+     * @throws CSVParseException if the header is missing or wrong, or no row is valid
+     */
+    private void readCsv(InputStream inputStream, boolean fromFile) throws CSVParseException {
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            CsvTokenizer csv = new CsvTokenizer(reader);
+            readHeader(csv, fromFile);
+
+            // Parse data rows
+            Map<Integer, Integer> idLines = new HashMap<>(); // ID -> row that defined it
+            boolean hasRows = false;
+            while (csv.nextRecord()) {
+                hasRows = true;
 
                 // Skip empty lines
-                if (line.trim().isEmpty()) {
+                if (csv.isBlank()) {
                     continue;
                 }
 
                 try {
-                    Question question = parseLine(line, lineNumber);
-                    if (question != null) {
-                        questions.add(question);
-                        successCount++;
-                    }
+                    acceptRow(parseRow(csv), csv.lineNumber(), idLines);
                 } catch (RowParseException e) {
                     // Record the error but continue parsing other rows
                     parseErrors.add(e.getMessage());
                 }
             }
 
-            // If no valid questions were loaded, that's an error
-            if (questions.isEmpty() && lineNumber > 1) {
-                throw new CSVParseException("No valid questions found in CSV. All rows had errors:\n" +
-                        String.join("\n", parseErrors));
-            }
+            checkAnyValid(hasRows, fromFile);
 
         } catch (IOException e) {
-            throw new CSVParseException("Error reading CSV file: " + e.getMessage());
+            throw new CSVParseException((fromFile ? "Error reading CSV file: " : "Error reading CSV data: ")
+                    + e.getMessage());
         }
     }
 
-    /**
-     * Loads questions from an InputStream (for custom user uploads when GUI with 'select CSV file' is implemented)
-     *
-     * @param inputStream The input stream containing CSV data
-     * @throws CSVParseException if the stream cannot be parsed
-     */
-    public void loadFromInputStream(InputStream inputStream) throws CSVParseException {
-        this.questions.clear();
-        this.parseErrors.clear();
-
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-
-            String headerLine = reader.readLine();
-
-            // Handle BOM
-            if (headerLine != null && headerLine.startsWith("\uFEFF")) {
-                headerLine = headerLine.substring(1);
-            }
-
-            if (headerLine == null || headerLine.trim().isEmpty()) {
-                throw new CSVParseException("CSV data is empty.");
-            }
+    private void readHeader(CsvTokenizer csv, boolean fromFile) throws CSVParseException, IOException {
+        // Check for empty file (a BOM is skipped by the tokenizer)
+        if (!csv.nextRecord() || csv.isBlank()) {
+            throw new CSVParseException(fromFile ? "CSV file is empty." : "CSV data is empty.");
+        }
 
-            validateHeaders(headerLine);
+        // Validate headers
+        validateHeaders(csv);
+    }
 
-            String line;
-            int lineNumber = 1;
+    /**
+     * Adds a parsed row unless an earlier row of the file already used its
+     * ID, which is recorded as a parse error instead.
+     */
+    private void acceptRow(Question question, int lineNumber, Map<Integer, Integer> idLines) {
+        Integer firstLine = idLines.putIfAbsent(question.getId(), lineNumber);
+        if (firstLine != null) {
+            parseErrors.add(String.format("Row %d: Duplicate ID %d, already used in row %d.",
+                    lineNumber, question.getId(), firstLine));
+            return;
+        }
+        putQuestion(question);
+    }
 
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                if (line.trim().isEmpty()) continue;
+    private void checkAnyValid(boolean hasRows, boolean fromFile) throws CSVParseException {
+        // If no valid questions were loaded, that's an error
+        if (questions.isEmpty() && hasRows) {
+            throw new CSVParseException(fromFile
+                    ? "No valid questions found in CSV. All rows had errors:\n" + String.join("\n", parseErrors)
+                    : "No valid questions found in CSV data.");
+        }
+    }
 
+    /**
+     * Parses all records of one chunk (a blank line is a row with neither a
+     * question nor an error). Runs on pool threads, so it only touches the
+     * tokenizer.
+     */
+    private List<ParsedRow> parseRows(CsvTokenizer csv) {
+        List<ParsedRow> rows = new ArrayList<>();
+        try {
+            while (csv.nextRecord()) {
+                if (csv.isBlank()) {
+                    rows.add(new ParsedRow(csv.lineNumber(), null, null));
+                    continue;
+                }
                 try {
-                    Question question = parseLine(line, lineNumber);
-                    if (question != null) {
-                        questions.add(question);
-                    }
+                    rows.add(new ParsedRow(csv.lineNumber(), parseRow(csv), null));
                 } catch (RowParseException e) {
-                    parseErrors.add(e.getMessage());
+                    rows.add(new ParsedRow(csv.lineNumber(), null, e.getMessage()));
                 }
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // an in-memory tokenizer does not read
+        }
+        return rows;
+    }
 
-            if (questions.isEmpty() && lineNumber > 1) {
-                throw new CSVParseException("No valid questions found in CSV data.");
-            }
+    /** Outcome of one record of a parallel import. */
+    private static final class ParsedRow {
+        final int line;
+        final Question question; // null for an error or a blank line
+        final String error;
 
-        } catch (IOException e) {
-            throw new CSVParseException("Error reading CSV data: " + e.getMessage());
+        ParsedRow(int line, Question question, String error) {
+            this.line = line;
+            this.question = question;
+            this.error = error;
         }
     }
 
     /**
      * Validates that the CSV header row contains the expected columns.
      *
-     * @param headerLine The first line of the CSV file
+     * @param csv Tokenizer positioned on the first record of the CSV file
      * @throws CSVParseException if headers don't match expected format
      */
-    private void validateHeaders(String headerLine) throws CSVParseException {
-        String[] headers = parseCSVLine(headerLine);
-
-        if (headers.length != EXPECTED_COLUMN_COUNT) {
+    private void validateHeaders(CsvTokenizer csv) throws CSVParseException {
+        if (csv.fieldCount() != EXPECTED_COLUMN_COUNT) {
             throw new CSVParseException(
                     String.format("Invalid header count. Expected %d columns, found %d. " +
                                     "Expected columns: %s",
-                            EXPECTED_COLUMN_COUNT, headers.length,
+                            EXPECTED_COLUMN_COUNT, csv.fieldCount(),
                             String.join(", ", EXPECTED_HEADERS)));
         }
 
         // Check each header (case-insensitive)
         for (int i = 0; i < EXPECTED_HEADERS.length; i++) {
-            String expected = EXPECTED_HEADERS[i].trim().toLowerCase();
-            String actual = headers[i].trim().toLowerCase();
+            String actual = csv.field(i);
 
-            if (!expected.equals(actual)) {
+            if (!EXPECTED_HEADERS[i].equalsIgnoreCase(actual)) {
                 throw new CSVParseException(
                         String.format("Invalid header at column %d. Expected '%s', found '%s'.",
-                                i + 1, EXPECTED_HEADERS[i], headers[i]));
+                                i + 1, EXPECTED_HEADERS[i], actual));
             }
         }
     }
 
     /**
-     * Parses a single CSV data line into a Question object.
+     * Parses the current CSV record into a Question object.
      *
-     * @param line The CSV line to parse
-     * @param lineNumber The line number (for error reporting)
+     * @param csv Tokenizer positioned on a data record
      * @return The parsed Question object
      * @throws RowParseException if the row contains invalid data
      */
-    private Question parseLine(String line, int lineNumber) throws RowParseException {
-        String[] fields = parseCSVLine(line);
+    private Question parseRow(CsvTokenizer csv) throws RowParseException {
+        int lineNumber = csv.lineNumber();
 
         // Validate field count
-        if (fields.length != EXPECTED_COLUMN_COUNT) {
+        if (csv.fieldCount() != EXPECTED_COLUMN_COUNT) {
             throw new RowParseException(
                     String.format("Row %d: Expected %d columns, found %d.",
-                            lineNumber, EXPECTED_COLUMN_COUNT, fields.length));
+                            lineNumber, EXPECTED_COLUMN_COUNT, csv.fieldCount()));
         }
 
         try {
             // Parse ID (must be a positive integer)
-            int id = parseId(fields[0].trim(), lineNumber);
+            int id = parseId(csv, 0, lineNumber);
 
             // Parse Question text (cannot be empty)
-            String questionText = parseRequiredField(fields[1].trim(), "Question", lineNumber);
+            String questionText = parseRequiredField(csv, 1, "Question", lineNumber);
 
             // Parse Difficulty (must be 1, 2, or 3)
-            QuestionDifficulty difficulty = parseDifficulty(fields[2].trim(), lineNumber);
+            QuestionDifficulty difficulty = parseDifficulty(csv, 2, lineNumber);
 
             // Parse options (cannot be empty)
-            String optionA = parseRequiredField(fields[3].trim(), "Option A", lineNumber);
-            String optionB = parseRequiredField(fields[4].trim(), "Option B", lineNumber);
-            String optionC = parseRequiredField(fields[5].trim(), "Option C", lineNumber);
-            String optionD = parseRequiredField(fields[6].trim(), "Option D", lineNumber);
+            String optionA = parseRequiredField(csv, 3, "Option A", lineNumber);
+            String optionB = parseRequiredField(csv, 4, "Option B", lineNumber);
+            String optionC = parseRequiredField(csv, 5, "Option C", lineNumber);
+            String optionD = parseRequiredField(csv, 6, "Option D", lineNumber);
 
             // Parse correct answer (must be A, B, C, or D)
-            char correctAnswer = parseCorrectAnswer(fields[7].trim(), lineNumber);
+            char correctAnswer = parseCorrectAnswer(csv, 7, lineNumber);
 
             return new Question(id, questionText, optionA, optionB, optionC, optionD,
                     correctAnswer, difficulty);
@@ -268,82 +436,56 @@ public class QuestionBank {
         }
     }
 
-    /**
-     * Parses a CSV line, handling quoted fields correctly.
-     * Supports fields with commas inside quotes.
-     */
-    private String[] parseCSVLine(String line) {
-        List<String> fields = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                fields.add(current.toString());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
-            }
-        }
-        fields.add(current.toString()); // Add last field
-
-        return fields.toArray(new String[0]);
-    }
-
-    private int parseId(String value, int lineNumber) throws RowParseException {
+    private int parseId(CsvTokenizer csv, int field, int lineNumber) throws RowParseException {
         try {
-            int id = Integer.parseInt(value);
+            int id = csv.intField(field);
             if (id <= 0) {
                 throw new RowParseException(
                         String.format("Row %d: ID must be a positive integer, found '%s'.",
-                                lineNumber, value));
+                                lineNumber, csv.field(field)));
             }
             return id;
         } catch (NumberFormatException e) {
             throw new RowParseException(
                     String.format("Row %d: Invalid ID format '%s'. Expected a positive integer.",
-                            lineNumber, value));
+                            lineNumber, csv.field(field)));
         }
     }
 
-    private String parseRequiredField(String value, String fieldName, int lineNumber)
+    private String parseRequiredField(CsvTokenizer csv, int field, String fieldName, int lineNumber)
             throws RowParseException {
-        if (value == null || value.isEmpty()) {
+        if (csv.isEmpty(field)) {
             throw new RowParseException(
                     String.format("Row %d: %s cannot be empty.", lineNumber, fieldName));
         }
-        return value;
+        return csv.field(field);
     }
 
-    private QuestionDifficulty parseDifficulty(String value, int lineNumber) throws RowParseException {
+    private QuestionDifficulty parseDifficulty(CsvTokenizer csv, int field, int lineNumber) throws RowParseException {
         try {
-            int diffValue = Integer.parseInt(value);
+            int diffValue = csv.intField(field);
             return QuestionDifficulty.fromValue(diffValue);
         } catch (NumberFormatException e) {
             throw new RowParseException(
                     String.format("Row %d: Invalid difficulty format '%s'. Expected 1, 2, or 3.",
-                            lineNumber, value));
+                            lineNumber, csv.field(field)));
         } catch (IllegalArgumentException e) {
             throw new RowParseException(
                     String.format("Row %d: %s", lineNumber, e.getMessage()));
         }
     }
 
-    private char parseCorrectAnswer(String value, int lineNumber) throws RowParseException {
-        if (value == null || value.isEmpty()) {
+    private char parseCorrectAnswer(CsvTokenizer csv, int field, int lineNumber) throws RowParseException {
+        if (csv.isEmpty(field)) {
             throw new RowParseException(
                     String.format("Row %d: Correct Answer cannot be empty.", lineNumber));
         }
 
-        char answer = Character.toUpperCase(value.charAt(0));
+        char answer = Character.toUpperCase(csv.firstChar(field));
         if (answer != 'A' && answer != 'B' && answer != 'C' && answer != 'D') {
             throw new RowParseException(
                     String.format("Row %d: Invalid Correct Answer '%s'. Must be A, B, C, or D.",
-                            lineNumber, value));
+                            lineNumber, csv.field(field)));
         }
         return answer;
     }
@@ -355,7 +497,7 @@ public class QuestionBank {
      *
      * @return Unmodifiable list of questions
      */
-    public List<Question> getAllQuestions() {
+    public synchronized List<Question> getAllQuestions() {
         return Collections.unmodifiableList(questions);
     }
 
@@ -364,10 +506,75 @@ public class QuestionBank {
      *
      * @return Question count
      */
-    public int getQuestionCount() {
+    public synchronized int getQuestionCount() {
         return questions.size();
     }
 
+    /**
+     * Returns the number of questions of one difficulty.
+     *
+     * @param difficulty The difficulty to count
+     * @return Question count for that difficulty
+     */
+    public synchronized int getQuestionCount(QuestionDifficulty difficulty) {
+        return bucketSizes[difficulty.ordinal()];
+    }
+
+    /**
+     * Picks a uniformly random question of the given difficulty in O(1),
+     * independent of the size of the bank.
+     *
+     * @param difficulty The difficulty to pick from
+     * @param random     Source of randomness
+     * @return A random question, or null if there is none of that difficulty
+     */
+    public synchronized Question randomQuestion(QuestionDifficulty difficulty, RandomGenerator random) {
+        int size = bucketSizes[difficulty.ordinal()];
+        if (size == 0) {
+            return null;
+        }
+        return buckets[difficulty.ordinal()][random.nextInt(size)];
+    }
+
+    /**
+     * Creates a sampler for one game session that does not repeat questions
+     * until all of a difficulty were asked (see QuestionSampler).
+     *
+     * @param random Source of randomness
+     * @return A new sampler over this bank
+     */
+    public QuestionSampler newSampler(RandomGenerator random) {
+        return new QuestionSampler(this, random, null);
+    }
+
+    /**
+     * Like {@link #newSampler(RandomGenerator)}, but also prefers questions
+     * the given player has not seen in their last RECENT_QUESTIONS_PER_USER
+     * questions, across sessions.
+     *
+     * @param username The player, or null for no per-player memory
+     * @param random   Source of randomness
+     * @return A new sampler over this bank
+     */
+    public synchronized QuestionSampler newSampler(String username, RandomGenerator random) {
+        if (username == null) {
+            return newSampler(random);
+        }
+        QuestionSampler.RecentQuestions recent = recentByUser.computeIfAbsent(username,
+                k -> new QuestionSampler.RecentQuestions(RECENT_QUESTIONS_PER_USER));
+        return new QuestionSampler(this, random, recent);
+    }
+
+    /** Question in a slot of a difficulty's array, for QuestionSampler. */
+    synchronized Question questionAt(QuestionDifficulty difficulty, int slot) {
+        return buckets[difficulty.ordinal()][slot];
+    }
+
+    /** Changes whenever the questions of a difficulty change. */
+    synchronized int getBucketVersion(QuestionDifficulty difficulty) {
+        return bucketVersions[difficulty.ordinal()];
+    }
+
     /**
      * Returns any parse errors encountered during loading.
      *
@@ -412,7 +619,7 @@ public class QuestionBank {
      * @param question The question to add
      * @throws IllegalArgumentException if a question with the same ID already exists
      */
-    public void addQuestion(Question question) {
+    public synchronized void addQuestion(Question question) {
         if (question == null) {
             throw new IllegalArgumentException("Question cannot be null");
         }
@@ -423,7 +630,7 @@ public class QuestionBank {
                     "A question with ID " + question.getId() + " already exists");
         }
 
-        questions.add(question);
+        putQuestion(question);
     }
 
     /**
@@ -432,7 +639,7 @@ public class QuestionBank {
      * @param question The updated question (matched by ID)
      * @throws IllegalArgumentException if no question with the given ID exists
      */
-    public void updateQuestion(Question question) {
+    public synchronized void updateQuestion(Question question) {
         if (question == null) {
             throw new IllegalArgumentException("Question cannot be null");
         }
@@ -443,7 +650,9 @@ public class QuestionBank {
                     "No question found with ID " + question.getId());
         }
 
+        unindexQuestion(questions.get(index));
         questions.set(index, question);
+        indexQuestion(question);
     }
 
     /**
@@ -452,14 +661,130 @@ public class QuestionBank {
      * @param questionId The ID of the question to delete
      * @throws IllegalArgumentException if no question with the given ID exists
      */
-    public void deleteQuestion(int questionId) {
+    public synchronized void deleteQuestion(int questionId) {
         int index = findQuestionIndexById(questionId);
         if (index == -1) {
             throw new IllegalArgumentException(
                     "No question found with ID " + questionId);
         }
 
-        questions.remove(index);
+        unindexQuestion(questions.remove(index));
+    }
+
+    // ==================== Difficulty index ====================
+
+    /**
+     * Empties the bank and the difficulty index.
+     */
+    private void clearQuestions() {
+        questions.clear();
+        bucketSlots.clear();
+        similarityIndex = null;
+        searchIndex = null;
+        Arrays.fill(bucketSizes, 0);
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Question[16];
+            bucketVersions[i]++;
+        }
+    }
+
+    /**
+     * Appends a question to the bank and the difficulty index.
+     */
+    private void putQuestion(Question question) {
+        questions.add(question);
+        indexQuestion(question);
+    }
+
+    private void indexQuestion(Question question) {
+        int d = question.getDifficulty().ordinal();
+        if (bucketSizes[d] == buckets[d].length) {
+            buckets[d] = Arrays.copyOf(buckets[d], buckets[d].length * 2);
+        }
+        bucketSlots.put(question, bucketSizes[d]);
+        buckets[d][bucketSizes[d]++] = question;
+        bucketVersions[d]++;
+        if (similarityIndex != null) {
+            similarityIndex.add(question);
+        }
+        if (searchIndex != null) {
+            searchIndex.add(question);
+        }
+    }
+
+    /**
+     * Removes a question from the difficulty index by moving the last
+     * question of its array into its slot.
+     */
+    private void unindexQuestion(Question question) {
+        Integer slot = bucketSlots.remove(question);
+        if (slot == null) {
+            return;
+        }
+        if (similarityIndex != null) {
+            similarityIndex.remove(question);
+        }
+        if (searchIndex != null) {
+            searchIndex.remove(question);
+        }
+        int d = question.getDifficulty().ordinal();
+        bucketVersions[d]++;
+        int last = --bucketSizes[d];
+        Question moved = buckets[d][last];
+        buckets[d][last] = null;
+        if (slot != last) {
+            buckets[d][slot] = moved;
+            bucketSlots.put(moved, slot);
+        }
+    }
+
+    /**
+     * Finds the question whose text is most similar to the given text, where
+     * similarity is 1 - editDistance / longerLength on the trimmed, lower
+     * case texts. Uses a 3-gram index, so only a few candidates are compared
+     * instead of the whole bank.
+     *
+     * @param text          The text to look for
+     * @param minSimilarity Threshold in (0, 1); only questions strictly more
+     *                      similar are returned
+     * @param excludeId     ID of a question to ignore, or -1
+     * @return The closest question above the threshold, or null if none
+     */
+    public synchronized Question findSimilarQuestion(String text, double minSimilarity, int excludeId) {
+        if (similarityIndex == null) {
+            similarityIndex = new SimilarityIndex();
+            for (Question question : questions) {
+                similarityIndex.add(question);
+            }
+        }
+        return similarityIndex.findMostSimilar(text, minSimilarity, excludeId);
+    }
+
+    /**
+     * Searches question texts and answer options.
+     *
+     * Every word of the query must occur (as a word or the start of one) in
+     * the question text or one of its options. Uses an inverted word index,
+     * so the cost depends on the words typed, not on the size of the bank.
+     *
+     * @param query      The search text; without any words, every question
+     *                   matches and the bank order is kept
+     * @param difficulty Only questions of this difficulty, or null for all
+     * @return Matching questions, best match first
+     */
+    public synchronized List<Question> searchQuestions(String query, QuestionDifficulty difficulty) {
+        if (QuestionSearchIndex.tokenize(query).isEmpty()) {
+            return questions.stream()
+                    .filter(q -> difficulty == null || q.getDifficulty() == difficulty)
+                    .toList();
+        }
+        if (searchIndex == null) {
+            searchIndex = new QuestionSearchIndex();
+            for (Question question : questions) {
+                searchIndex.add(question);
+            }
+        }
+        return searchIndex.search(query, difficulty);
     }
 
     /**
@@ -483,7 +808,7 @@ public class QuestionBank {
      * @param id The question ID to search for
      * @return The Question with the given ID, or null if not found
      */
-    public Question getQuestionById(int id) {
+    public synchronized Question getQuestionById(int id) {
         int index = findQuestionIndexById(id);
         if (index != -1) {
             return questions.get(index);
@@ -497,7 +822,7 @@ public class QuestionBank {
      * @param filePath The file path to save to
      * @throws IOException if the file cannot be written
      */
-    public void saveToFile(String filePath) throws IOException {
+    public synchronized void saveToFile(String filePath) throws IOException {
         try (BufferedWriter writer = new BufferedWriter(
                 new FileWriter(filePath, StandardCharsets.UTF_8))) {
 
@@ -552,7 +877,7 @@ public class QuestionBank {
      *
      * @return The next ID (max ID + 1, or 1 if bank is empty)
      */
-    public int getNextAvailableId() {
+    public synchronized int getNextAvailableId() {
         return questions.stream()
                 .mapToInt(Question::getId)
                 .max()
@@ -0,0 +1,177 @@
+package minesweeper.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws questions for one game session without repeating them.
+ *
+ * Each difficulty has its own cursor over a lazily shuffled order of the
+ * bank's questions: a Fisher-Yates shuffle where only the swapped positions
+ * are stored, so a draw is O(1) and memory grows with the number of
+ * questions actually drawn, not with the bank. Once every question of a
+ * difficulty was asked, a new round starts with a fresh order. If the bank
+ * changes the questions of a difficulty, that cursor starts over.
+ *
+ * With a {@link RecentQuestions} for the player, a drawn question the player
+ * saw recently (in an earlier game) is put back and another one tried, up to
+ * MAX_RETRIES times, so unseen questions are strongly preferred while a draw
+ * still costs constant time.
+ *
+ * Created by {@link QuestionBank#newSampler}. A sampler is meant for one
+ * game session and is not thread-safe, but draws lock the bank, so the bank
+ * may be edited on another thread meanwhile.
+ */
+public class QuestionSampler {
+
+    /** Attempts to find a question the player has not seen recently. */
+    static final int MAX_RETRIES = 4;
+
+    private final QuestionBank bank;
+    private final RandomGenerator random;
+    private final RecentQuestions recent; // may be null
+    private final Cursor[] cursors = new Cursor[QuestionDifficulty.values().length];
+
+    QuestionSampler(QuestionBank bank, RandomGenerator random, RecentQuestions recent) {
+        this.bank = bank;
+        this.random = random;
+        this.recent = recent;
+    }
+
+    /**
+     * Draws the next question of the given difficulty.
+     *
+     * @param difficulty The difficulty to draw from
+     * @return A question not yet drawn in this round, or null if the bank has
+     *         no question of that difficulty
+     */
+    public Question next(QuestionDifficulty difficulty) {
+        // One consistent view of the bucket; also guards the player's
+        // RecentQuestions, which samplers of the same player share
+        synchronized (bank) {
+            return draw(difficulty);
+        }
+    }
+
+    private Question draw(QuestionDifficulty difficulty) {
+        int size = bank.getQuestionCount(difficulty);
+        if (size == 0) {
+            return null;
+        }
+
+        int d = difficulty.ordinal();
+        Cursor cursor = cursors[d];
+        int version = bank.getBucketVersion(difficulty);
+        if (cursor == null || cursor.version != version) {
+            cursor = cursors[d] = new Cursor(size, version);
+        }
+        if (cursor.drawn == cursor.size) {
+            cursor.newRound();
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            int position = cursor.drawn + random.nextInt(cursor.size - cursor.drawn);
+            Question question = bank.questionAt(difficulty, cursor.slotAt(position));
+
+            if (recent == null || attempt == MAX_RETRIES || !recent.contains(question.getId())) {
+                cursor.take(position);
+                if (recent != null) {
+                    recent.add(question.getId());
+                }
+                return question;
+            }
+        }
+    }
+
+    /**
+     * Number of questions of this difficulty left before the round starts
+     * over.
+     */
+    public int remaining(QuestionDifficulty difficulty) {
+        Cursor cursor = cursors[difficulty.ordinal()];
+        if (cursor == null || cursor.version != bank.getBucketVersion(difficulty)) {
+            return bank.getQuestionCount(difficulty);
+        }
+        return cursor.size - cursor.drawn;
+    }
+
+    // ==================== CURSOR ====================
+
+    /**
+     * Sparse Fisher-Yates shuffle of the slots 0..size-1 of one difficulty.
+     * Positions below {@code drawn} were handed out this round; a position
+     * not in {@code swapped} holds its own slot number.
+     */
+    private static final class Cursor {
+        final int size;
+        final int version;
+        int drawn;
+        final Map<Integer, Integer> swapped = new HashMap<>();
+
+        Cursor(int size, int version) {
+            this.size = size;
+            this.version = version;
+        }
+
+        int slotAt(int position) {
+            Integer slot = swapped.get(position);
+            return slot == null ? position : slot;
+        }
+
+        /** Moves the slot at {@code position} to the front and hands it out. */
+        void take(int position) {
+            if (position != drawn) {
+                swapped.put(position, slotAt(drawn));
+            }
+            swapped.remove(drawn); // never read again this round
+            drawn++;
+        }
+
+        void newRound() {
+            swapped.clear();
+            drawn = 0;
+        }
+    }
+
+    // ==================== PER-USER MEMORY ====================
+
+    /**
+     * The last {@code capacity} question IDs shown to one player, in a ring
+     * buffer with a count per ID for O(1) lookups. Memory is bounded by the
+     * capacity however much the player plays.
+     */
+    public static final class RecentQuestions {
+        private final int[] ring;
+        private final Map<Integer, Integer> counts = new HashMap<>();
+        private int head;
+        private int size;
+
+        public RecentQuestions(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive: " + capacity);
+            }
+            this.ring = new int[capacity];
+        }
+
+        public boolean contains(int questionId) {
+            return counts.containsKey(questionId);
+        }
+
+        /** Remembers a question, forgetting the oldest one when full. */
+        public void add(int questionId) {
+            if (size == ring.length) {
+                counts.computeIfPresent(ring[head], (id, n) -> n == 1 ? null : n - 1);
+            } else {
+                size++;
+            }
+            ring[head] = questionId;
+            head = (head + 1) % ring.length;
+            counts.merge(questionId, 1, Integer::sum);
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
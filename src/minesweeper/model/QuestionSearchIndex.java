@@ -0,0 +1,211 @@
+package minesweeper.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Inverted word index over question texts and answer options, used by the
+ * question wizard's search box.
+ *
+ * Every question gets a small document number; each word maps to the
+ * numbers of the questions containing it. The words are kept sorted, so all
+ * words starting with a typed prefix are one range lookup. A query is split
+ * into words, every word is treated as a prefix (the user may still be
+ * typing it), and a question matches when it contains all of them. The
+ * matches of each word and the questions of the chosen difficulty are bit
+ * sets that are intersected, so a search only touches the postings of the
+ * typed words, never the whole bank.
+ *
+ * Results are ranked: a word in the question text counts more than one in
+ * an option, and a whole word more than a prefix. Maintained by
+ * {@link QuestionBank}. Not thread-safe.
+ */
+public class QuestionSearchIndex {
+
+    private final NavigableMap<String, Posting> postings = new TreeMap<>();
+    private final BitSet[] byDifficulty = new BitSet[QuestionDifficulty.values().length];
+    private final Map<Question, Integer> docIds = new IdentityHashMap<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private Question[] docs = new Question[16];
+    private int docCount;
+
+    QuestionSearchIndex() {
+        for (int i = 0; i < byDifficulty.length; i++) {
+            byDifficulty[i] = new BitSet();
+        }
+    }
+
+    void add(Question question) {
+        if (docIds.containsKey(question)) {
+            return;
+        }
+        int doc = freeDocIds.isEmpty() ? docCount++ : freeDocIds.pop();
+        if (doc == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+        docs[doc] = question;
+        docIds.put(question, doc);
+        byDifficulty[question.getDifficulty().ordinal()].set(doc);
+
+        for (String word : words(question)) {
+            postings.computeIfAbsent(word, w -> new Posting()).add(doc);
+        }
+    }
+
+    void remove(Question question) {
+        Integer doc = docIds.remove(question);
+        if (doc == null) {
+            return;
+        }
+        for (String word : words(question)) {
+            Posting posting = postings.get(word);
+            if (posting != null && posting.remove(doc) && posting.size == 0) {
+                postings.remove(word);
+            }
+        }
+        byDifficulty[question.getDifficulty().ordinal()].clear(doc);
+        docs[doc] = null;
+        freeDocIds.push(doc);
+    }
+
+    /**
+     * Finds the questions containing every word of the query.
+     *
+     * @param query      Words to look for; each may be the start of a word
+     * @param difficulty Only questions of this difficulty, or null for all
+     * @return Matching questions, best match first (ties by ID); empty if the
+     *         query has no words
+     */
+    List<Question> search(String query, QuestionDifficulty difficulty) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        BitSet matches = null;
+        for (String term : terms) {
+            BitSet termMatches = new BitSet();
+            for (Posting posting : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                for (int i = 0; i < posting.size; i++) {
+                    termMatches.set(posting.docs[i]);
+                }
+            }
+            if (matches == null) {
+                matches = termMatches;
+            } else {
+                matches.and(termMatches);
+            }
+            if (matches.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+        if (difficulty != null) {
+            matches.and(byDifficulty[difficulty.ordinal()]);
+        }
+
+        List<Question> results = new ArrayList<>(matches.cardinality());
+        Map<Question, Integer> scores = new IdentityHashMap<>();
+        for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+            Question question = docs[doc];
+            results.add(question);
+            scores.put(question, score(question, terms));
+        }
+        results.sort(Comparator.<Question>comparingInt(scores::get).reversed()
+                .thenComparingInt(Question::getId));
+        return results;
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Per query term: 4 for a whole word of the question text, 3 for a prefix
+     * of one, 2 for a whole word of an option, 1 for a prefix of one.
+     */
+    private static int score(Question question, List<String> terms) {
+        List<String> textWords = tokenize(question.getText());
+        List<String> optionWords = null;
+        int score = 0;
+        for (String term : terms) {
+            int best = 0;
+            for (String word : textWords) {
+                best = Math.max(best, word.equals(term) ? 4 : word.startsWith(term) ? 3 : 0);
+            }
+            if (best == 0) {
+                if (optionWords == null) {
+                    optionWords = optionWords(question);
+                }
+                best = optionWords.contains(term) ? 2 : 1;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    /** Distinct words of the text and the four options. */
+    private static List<String> words(Question question) {
+        List<String> words = tokenize(question.getText());
+        words.addAll(optionWords(question));
+        return words.stream().distinct().toList();
+    }
+
+    private static List<String> optionWords(Question question) {
+        List<String> words = new ArrayList<>();
+        for (String option : new String[]{question.getOptionA(), question.getOptionB(),
+                question.getOptionC(), question.getOptionD()}) {
+            words.addAll(tokenize(option));
+        }
+        return words;
+    }
+
+    /** Lower-case runs of letters and digits. */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /** Document numbers of the questions containing one word. */
+    private static final class Posting {
+        int[] docs = new int[2];
+        int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        boolean remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    docs[i] = docs[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package minesweeper.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds questions whose text is within a given edit-distance similarity of a
+ * new text, without comparing against the whole bank.
+ *
+ * Every question text (trimmed, lower case, padded at both ends) is split
+ * into its 3-grams, and each 3-gram maps to the questions containing it. One
+ * edit changes at most 3 grams, so a text within k edits of the query shares
+ * all but at most 3k of the query's distinct grams; looking up the 3k+1
+ * rarest query grams therefore finds every such text. The candidates are
+ * then checked with a banded, two-row edit distance that stops as soon as
+ * the distance is known to be too large.
+ *
+ * Similarity is {@code 1 - distance / max(length)}, as the question wizard
+ * always used it. Maintained by {@link QuestionBank}. Not thread-safe.
+ */
+public class SimilarityIndex {
+
+    private static final int Q = 3;
+    private static final char PAD_START = '\u0002';
+    private static final char PAD_END = '\u0003';
+
+    private final Map<Long, Posting> postings = new HashMap<>();
+    private final Map<Question, String> texts = new IdentityHashMap<>();
+
+    SimilarityIndex() {
+    }
+
+    void add(Question question) {
+        String text = normalize(question.getText());
+        if (texts.put(question, text) != null) {
+            return;
+        }
+        for (long gram : grams(text)) {
+            postings.computeIfAbsent(gram, g -> new Posting()).add(question);
+        }
+    }
+
+    void remove(Question question) {
+        String text = texts.remove(question);
+        if (text == null) {
+            return;
+        }
+        for (long gram : grams(text)) {
+            Posting posting = postings.get(gram);
+            if (posting != null && posting.remove(question) && posting.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    int size() {
+        return texts.size();
+    }
+
+    /**
+     * Finds the indexed question most similar to {@code text}.
+     *
+     * @param text          The text to look for
+     * @param minSimilarity Only questions more similar than this, in (0, 1),
+     *                      are returned
+     * @param excludeId     ID of a question to ignore (the one being edited),
+     *                      or -1
+     * @return The most similar question above the threshold, or null if
+     *         there is none
+     */
+    Question findMostSimilar(String text, double minSimilarity, int excludeId) {
+        if (!(minSimilarity > 0 && minSimilarity < 1)) {
+            throw new IllegalArgumentException("minSimilarity must be in (0, 1): " + minSimilarity);
+        }
+        String query = normalize(text);
+        int length = query.length();
+
+        // d < (1 - s) * max(len) and max(len) <= len + d give d < (1 - s) * len / s
+        int maxEdits = (int) Math.ceil((1 - minSimilarity) * length / minSimilarity);
+
+        long[] grams = grams(query);
+        int[] order = sortByPostingSize(grams);
+        int probes = (int) Math.min(grams.length, (long) maxEdits * Q + 1);
+
+        Set<Question> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < probes; i++) {
+            Posting posting = postings.get(grams[order[i]]);
+            if (posting != null) {
+                for (int j = 0; j < posting.size; j++) {
+                    candidates.add(posting.items[j]);
+                }
+            }
+        }
+
+        Question best = null;
+        double bestSimilarity = minSimilarity;
+        for (Question candidate : candidates) {
+            if (candidate.getId() == excludeId) {
+                continue;
+            }
+            String other = texts.get(candidate);
+            int maxLen = Math.max(length, other.length());
+            int limit = (int) Math.ceil((1 - bestSimilarity) * maxLen);
+            int distance = boundedDistance(query, other, limit);
+            if (distance <= limit && similarity(distance, maxLen) > bestSimilarity) {
+                best = candidate;
+                bestSimilarity = similarity(distance, maxLen);
+                if (distance == 0) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    // ==================== EDIT DISTANCE ====================
+
+    /**
+     * Levenshtein distance of {@code a} and {@code b} if it is at most
+     * {@code max}, otherwise any value greater than {@code max}.
+     *
+     * Only the diagonal band of width 2*max+1 is computed, with two rows,
+     * and the loop ends as soon as a whole row exceeds {@code max}: O(max *
+     * length) time and O(length) memory instead of a full table.
+     */
+    public static int boundedDistance(CharSequence a, CharSequence b, int max) {
+        if (max < 0) {
+            return max + 1;
+        }
+        max = Math.min(max, Math.max(a.length(), b.length()));
+        if (a.length() > b.length()) {
+            CharSequence t = a;
+            a = b;
+            b = t;
+        }
+        int n = a.length();
+        int m = b.length();
+        if (m - n > max) {
+            return max + 1;
+        }
+
+        int over = max + 1;
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int i = 0; i <= n; i++) {
+            previous[i] = i <= max ? i : over;
+        }
+
+        for (int j = 1; j <= m; j++) {
+            int from = Math.max(1, j - max);
+            int to = Math.min(n, j + max);
+            current[0] = j <= max ? j : over;
+            if (from > 1) {
+                current[from - 1] = over;
+            }
+            int rowMin = current[0];
+            char cb = b.charAt(j - 1);
+            for (int i = from; i <= to; i++) {
+                int cost = a.charAt(i - 1) == cb ? 0 : 1;
+                int value = Math.min(Math.min(previous[i] + 1, current[i - 1] + 1), previous[i - 1] + cost);
+                current[i] = Math.min(value, over);
+                rowMin = Math.min(rowMin, current[i]);
+            }
+            if (to < n) {
+                current[to + 1] = over;
+            }
+            if (rowMin > max) {
+                return over;
+            }
+            int[] t = previous;
+            previous = current;
+            current = t;
+        }
+        return previous[n];
+    }
+
+    static double similarity(int distance, int maxLength) {
+        return maxLength == 0 ? 1.0 : 1.0 - ((double) distance / maxLength);
+    }
+
+    // ==================== HELPERS ====================
+
+    static String normalize(String text) {
+        return text.trim().toLowerCase();
+    }
+
+    /** Distinct padded 3-grams of a normalized text, packed into longs. */
+    private static long[] grams(String text) {
+        StringBuilder padded = new StringBuilder(text.length() + 2 * (Q - 1));
+        padded.append(PAD_START).append(PAD_START).append(text).append(PAD_END).append(PAD_END);
+
+        long[] grams = new long[padded.length() - Q + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    /** Indexes into {@code grams}, rarest gram first. */
+    private int[] sortByPostingSize(long[] grams) {
+        List<int[]> sizes = new ArrayList<>(grams.length);
+        for (int i = 0; i < grams.length; i++) {
+            Posting posting = postings.get(grams[i]);
+            sizes.add(new int[]{posting == null ? 0 : posting.size, i});
+        }
+        sizes.sort((x, y) -> Integer.compare(x[0], y[0]));
+        int[] order = new int[grams.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = sizes.get(i)[1];
+        }
+        return order;
+    }
+
+    /** Questions containing one gram; order does not matter. */
+    private static final class Posting {
+        Question[] items = new Question[4];
+        int size;
+
+        void add(Question question) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = question;
+        }
+
+        boolean remove(Question question) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == question) {
+                    items[i] = items[--size];
+                    items[size] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -4,7 +4,7 @@ import java.util.Objects;
 
 public class User {
     private String username;
-    private String password;
+    private String password; // stored credential, see CredentialHasher
     private String securityAnswer;
     private String securityQuestion;
 
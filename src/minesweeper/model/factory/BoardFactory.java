@@ -4,6 +4,14 @@ import minesweeper.model.Board;
 import minesweeper.model.GameSession.Difficulty;
 import minesweeper.model.scoring.*;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Factory Pattern: Centralized factory for creating game boards and scoring strategies.
  *
@@ -15,17 +23,75 @@ import minesweeper.model.scoring.*;
  * - Single point of creation for game objects
  * - Easy to extend with new board types or strategies
  * - Decouples GameSession from concrete creation logic
+ *
+ * Board pool:
+ * Boards for each difficulty are generated ahead of time on a background
+ * daemon thread and kept in a small bounded queue. createBoard hands one out
+ * immediately and schedules a refill, so starting a game does not wait for
+ * generation. If the pool is empty the board is built on the caller's thread.
  */
 public class BoardFactory {
 
+    /** Ready boards kept per difficulty. */
+    private static final int POOL_CAPACITY = 4;
+
+    private static final Map<Difficulty, BlockingQueue<Board>> POOL = new EnumMap<>(Difficulty.class);
+    private static final Map<Difficulty, AtomicBoolean> REFILL_SCHEDULED = new EnumMap<>(Difficulty.class);
+
+    static {
+        for (Difficulty difficulty : Difficulty.values()) {
+            POOL.put(difficulty, new ArrayBlockingQueue<>(POOL_CAPACITY));
+            REFILL_SCHEDULED.put(difficulty, new AtomicBoolean(false));
+        }
+    }
+
+    private static final ExecutorService POOL_FILLER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "board-pool");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
     /**
      * Creates a game board configured for the specified difficulty.
-     * Factory method that encapsulates all board initialization parameters.
+     * Takes a pre-generated board from the pool when one is ready.
      *
      * @param difficulty The game difficulty level
      * @return A fully initialized Board ready for gameplay
      */
     public static Board createBoard(Difficulty difficulty) {
+        Board pooled = POOL.get(difficulty).poll();
+        scheduleRefill(difficulty);
+        return pooled != null ? pooled : generateBoard(difficulty);
+    }
+
+    /**
+     * Starts filling the pool for every difficulty in the background.
+     * Safe to call repeatedly; e.g. when the new game screen opens.
+     */
+    public static void prefillPool() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            scheduleRefill(difficulty);
+        }
+    }
+
+    private static void scheduleRefill(Difficulty difficulty) {
+        if (!REFILL_SCHEDULED.get(difficulty).compareAndSet(false, true)) {
+            return;  // a refill for this difficulty is already queued or running
+        }
+        POOL_FILLER.execute(() -> {
+            try {
+                BlockingQueue<Board> pool = POOL.get(difficulty);
+                while (pool.remainingCapacity() > 0) {
+                    if (!pool.offer(generateBoard(difficulty))) break;
+                }
+            } finally {
+                REFILL_SCHEDULED.get(difficulty).set(false);
+            }
+        });
+    }
+
+    private static Board generateBoard(Difficulty difficulty) {
         return new Board(
             difficulty.gridSize,
             difficulty.mines,
@@ -34,6 +100,24 @@ public class BoardFactory {
         );
     }
 
+    /**
+     * Creates a reproducible board for the specified difficulty.
+     * The same difficulty and seed always give the same layout.
+     *
+     * @param difficulty The game difficulty level
+     * @param seed Seed for mine and special tile placement
+     * @return A fully initialized Board ready for gameplay
+     */
+    public static Board createBoard(Difficulty difficulty, long seed) {
+        return new Board(
+            difficulty.gridSize,
+            difficulty.mines,
+            difficulty.questions,
+            difficulty.surprises,
+            seed
+        );
+    }
+
     /**
      * Creates a custom board with specific parameters.
      * Useful for testing or custom game modes.
@@ -48,6 +132,20 @@ public class BoardFactory {
         return new Board(size, mines, questions, surprises);
     }
 
+    /**
+     * Creates a reproducible custom board, e.g. for simulation runs.
+     *
+     * @param size Grid size (size x size)
+     * @param mines Number of mines
+     * @param questions Number of question tiles
+     * @param surprises Number of surprise tiles
+     * @param seed Seed for mine and special tile placement
+     * @return A custom configured Board
+     */
+    public static Board createCustomBoard(int size, int mines, int questions, int surprises, long seed) {
+        return new Board(size, mines, questions, surprises, seed);
+    }
+
     /**
      * Creates the appropriate scoring strategy for the given difficulty.
      * Factory method that selects the correct strategy implementation.
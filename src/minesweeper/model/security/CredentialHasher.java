@@ -0,0 +1,33 @@
+package minesweeper.model.security;
+
+/**
+ * Strategy Pattern: Interface for turning passwords into stored credentials.
+ * The stored string is self-describing (algorithm, cost, salt), so records
+ * written with older settings can still be verified and then upgraded.
+ */
+public interface CredentialHasher {
+
+    /**
+     * Hash a password for storage.
+     * @param password The plain password; not modified
+     * @return Encoded credential to keep in the user record
+     */
+    String hash(char[] password);
+
+    /**
+     * Check a password against a stored credential. Implementations compare
+     * in constant time.
+     * @param password The password that was typed in
+     * @param stored   The credential from the user record
+     * @return true if the password matches
+     */
+    boolean verify(char[] password, String stored);
+
+    /**
+     * Whether a stored credential was made with other settings than this
+     * hasher uses now (or is not hashed at all) and should be replaced after
+     * the next successful login.
+     * @param stored The credential from the user record
+     */
+    boolean needsRehash(String stored);
+}
@@ -0,0 +1,165 @@
+package minesweeper.model.security;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 from the JDK, with a random salt per user.
+ *
+ * Credentials are stored as {@code pbkdf2-sha256$iterations$salt$hash}
+ * (salt and hash in Base64). Verification always uses the iteration count
+ * stored with the credential, so changing the setting never locks anyone
+ * out; {@link #needsRehash} tells the caller to upgrade it after a login.
+ *
+ * Anything without the prefix is a password saved before hashing was
+ * introduced. It is still accepted (compared in constant time) and always
+ * reported as needing a rehash.
+ *
+ * {@link #tuned(long)} picks the iteration count by timing PBKDF2 on the
+ * current machine, so one verification costs about the given time.
+ */
+public class Pbkdf2CredentialHasher implements CredentialHasher {
+
+    public static final String PREFIX = "pbkdf2-sha256";
+    public static final int MIN_ITERATIONS = 50_000;
+    public static final int MAX_ITERATIONS = 5_000_000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final int CALIBRATION_ITERATIONS = 20_000;
+    private static final int CALIBRATION_RUNS = 5;
+
+    /**
+     * Stored counts within this fraction of the current one are not rehashed,
+     * so re-tuning on the same host (which never gives exactly the same
+     * number) does not rewrite every account.
+     */
+    private static final double REHASH_TOLERANCE = 0.25;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int iterations;
+
+    /**
+     * @param iterations PBKDF2 iterations, at most MAX_ITERATIONS: verify
+     *                   refuses anything above it, so such hashes could never
+     *                   be checked again
+     */
+    public Pbkdf2CredentialHasher(int iterations) {
+        if (iterations <= 0 || iterations > MAX_ITERATIONS) {
+            throw new IllegalArgumentException("iterations must be in [1, " + MAX_ITERATIONS + "]: " + iterations);
+        }
+        this.iterations = iterations;
+    }
+
+    /** A hasher whose verification takes about {@code targetMillis} here. */
+    public static Pbkdf2CredentialHasher tuned(long targetMillis) {
+        return new Pbkdf2CredentialHasher(tuneIterations(targetMillis));
+    }
+
+    /**
+     * Times a short PBKDF2 run (best of CALIBRATION_RUNS, the first ones warm
+     * up the JIT) and scales it to {@code targetMillis}. The result is rounded
+     * to a thousand and kept within [MIN_ITERATIONS, MAX_ITERATIONS].
+     */
+    public static int tuneIterations(long targetMillis) {
+        char[] probe = "calibration".toCharArray();
+        byte[] salt = new byte[SALT_BYTES];
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            long start = System.nanoTime();
+            derive(probe, salt, CALIBRATION_ITERATIONS);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double nanosPerIteration = Math.max(1, best) / (double) CALIBRATION_ITERATIONS;
+        long wanted = Math.round(targetMillis * 1_000_000.0 / nanosPerIteration) / 1000 * 1000;
+        return (int) Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, wanted));
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    @Override
+    public String hash(char[] password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] hash = derive(password, salt, iterations);
+
+        Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(hash);
+    }
+
+    @Override
+    public boolean verify(char[] password, String stored) {
+        if (password == null || stored == null) return false;
+
+        if (!stored.startsWith(PREFIX + "$")) {
+            byte[] typed = utf8(password);
+            boolean match = MessageDigest.isEqual(typed, stored.getBytes(StandardCharsets.UTF_8));
+            Arrays.fill(typed, (byte) 0);
+            return match;
+        }
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) return false;
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            if (storedIterations <= 0 || storedIterations > MAX_ITERATIONS || expected.length == 0) return false;
+
+            return MessageDigest.isEqual(expected, derive(password, salt, storedIterations, expected.length * 8));
+        } catch (IllegalArgumentException e) {
+            return false; // unreadable count or Base64
+        }
+    }
+
+    @Override
+    public boolean needsRehash(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX + "$")) return true;
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) return true;
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            return Math.abs(storedIterations - iterations) > iterations * REHASH_TOLERANCE;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static byte[] derive(char[] password, byte[] salt, int iterations) {
+        return derive(password, salt, iterations, HASH_BITS);
+    }
+
+    private static byte[] derive(char[] password, byte[] salt, int iterations, int bits) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, bits);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static byte[] utf8(char[] chars) {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(chars));
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        if (buffer.hasArray()) Arrays.fill(buffer.array(), (byte) 0);
+        return bytes;
+    }
+}
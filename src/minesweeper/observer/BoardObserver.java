@@ -1,5 +1,6 @@
 package minesweeper.observer;
 
+import minesweeper.model.Board;
 import minesweeper.model.Cell;
 import java.util.*;
 
@@ -11,4 +12,22 @@ public interface BoardObserver {
     void onGameOver(boolean won);
     void onScoreChanged(int newScore);
 
+    /**
+     * Batched form of {@link #onCellRevealed}: every cell revealed or otherwise
+     * changed during one move, delivered once when the move ends.
+     * By default fans out to {@link #onCellRevealed} per cell.
+     *
+     * @param board         The board the cells belong to
+     * @param packedIndices Cell indices as {@code row * board.getSize() + col}
+     */
+    default void onCellsRevealed(Board board, int[] packedIndices) {
+        int size = board.getSize();
+        for (int index : packedIndices) {
+            int row = index / size;
+            int col = index % size;
+            onCellRevealed(row, col, board.getCell(row, col));
+        }
+    }
+
 }
+
@@ -0,0 +1,58 @@
+package minesweeper.observer;
+
+import javax.swing.SwingUtilities;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Collects batches of packed cell indices from any thread and hands them to
+ * the EDT as a single task.
+ *
+ * At most one runnable is queued on the EDT at a time: batches that arrive
+ * before it runs are appended to the pending buffer and delivered together,
+ * so a burst of board events costs one EDT dispatch instead of one per cell.
+ */
+public class CoalescingEdtDispatcher {
+
+    private final Consumer<int[]> sink;
+    private int[] pending = new int[64];
+    private int pendingCount;
+    private boolean scheduled;
+
+    /**
+     * @param sink Receives the merged indices on the EDT
+     */
+    public CoalescingEdtDispatcher(Consumer<int[]> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Queues {@code indices} for the next EDT dispatch, scheduling one if none
+     * is pending yet.
+     */
+    public void submit(int[] indices) {
+        if (indices.length == 0) return;
+
+        synchronized (this) {
+            if (pendingCount + indices.length > pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingCount + indices.length));
+            }
+            System.arraycopy(indices, 0, pending, pendingCount, indices.length);
+            pendingCount += indices.length;
+
+            if (scheduled) return;
+            scheduled = true;
+        }
+        SwingUtilities.invokeLater(this::drain);
+    }
+
+    private void drain() {
+        int[] batch;
+        synchronized (this) {
+            batch = Arrays.copyOf(pending, pendingCount);
+            pendingCount = 0;
+            scheduled = false;
+        }
+        sink.accept(batch);
+    }
+}
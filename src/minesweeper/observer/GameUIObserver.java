@@ -1,5 +1,6 @@
 package minesweeper.observer;
 
+import minesweeper.model.Board;
 import minesweeper.model.Cell;
 import minesweeper.view.MinesweeperGame;
 import minesweeper.controller.GameController;
@@ -18,6 +19,9 @@ public class GameUIObserver implements BoardObserver {
     private JLabel scoreLabel;
     private JLabel livesLabel;
     private boolean isPlayerABoard;
+    // Dispatcher for the board that sent the last batch (see dispatcherFor)
+    private Board dispatcherBoard;
+    private CoalescingEdtDispatcher revealDispatcher;
     
     
     public GameUIObserver(MinesweeperGame gameView, 
@@ -43,55 +47,100 @@ public class GameUIObserver implements BoardObserver {
         SwingUtilities.invokeLater(() -> {
             if (buttonGrid != null && row < buttonGrid.length && col < buttonGrid[row].length) {
                 JButton button = buttonGrid[row][col];
-                
-                // Update button appearance based on cell type
-                if (cell.isFlagged()) {
-                    button.setBackground(new Color(50, 30, 30));
-                    button.setText("🚩");
-                    button.setForeground(new Color(255, 80, 80));
-                } else if (cell.isRevealed()) {
-                    button.setBackground(new Color(30, 40, 50));
-                    
-                    switch (cell.getType()) {
-                        case MINE:
-                            button.setText("💣");
-                            button.setForeground(Color.RED);
-                            break;
-                            
-                        case NUMBER:
-                            int adjacentMines = cell.getAdjacentMines();
-                            button.setText(String.valueOf(adjacentMines));
-                            button.setForeground(getNumberColor(adjacentMines));
-                            break;
-                            
-                        case EMPTY:
-                            button.setText("");
-                            button.setBackground(new Color(40, 50, 60));
-                            break;
-                            
-                        case QUESTION:
-                            button.setText(cell.isUsed() ? "✓" : "?");
-                            button.setForeground(new Color(255, 200, 50));
-                            button.setBackground(cell.isUsed() ? 
-                                new Color(50, 60, 40) : new Color(80, 70, 30));
-                            break;
-                            
-                        case SURPRISE:
-                            button.setText(cell.isUsed() ? "✓" : "🎁");
-                            button.setBackground(cell.isUsed() ? 
-                                new Color(50, 40, 60) : new Color(70, 40, 80));
-                            break;
-                    }
-                } else {
-                    button.setBackground(new Color(20, 30, 40));
-                    button.setText("");
-                }
+                updateButton(button, cell);
                 
                 // Visual feedback animation
                 animateButtonReveal(button);
             }
         });
     }
+
+    /**
+     * Called once per move with every cell that changed on the board.
+     * Batches from the same move (or arriving before the EDT catches up) are
+     * merged by the dispatcher and applied in a single EDT task.
+     */
+    @Override
+    public void onCellsRevealed(Board board, int[] packedIndices) {
+        dispatcherFor(board).submit(packedIndices);
+    }
+
+    /**
+     * Indices are only merged with indices of the same board: a batch from
+     * another board gets a new dispatcher bound to that board, while the old
+     * one still flushes what it holds against its own board.
+     */
+    private synchronized CoalescingEdtDispatcher dispatcherFor(Board board) {
+        if (revealDispatcher == null || board != dispatcherBoard) {
+            dispatcherBoard = board;
+            revealDispatcher = new CoalescingEdtDispatcher(indices -> applyRevealBatch(board, indices));
+        }
+        return revealDispatcher;
+    }
+
+    private void applyRevealBatch(Board board, int[] packedIndices) {
+        if (buttonGrid == null || board == null) return;
+
+        int size = board.getSize();
+        java.util.List<JButton> changed = new java.util.ArrayList<>(packedIndices.length);
+        for (int index : packedIndices) {
+            int row = index / size;
+            int col = index % size;
+            if (row < buttonGrid.length && col < buttonGrid[row].length) {
+                JButton button = buttonGrid[row][col];
+                updateButton(button, board.getCell(row, col));
+                changed.add(button);
+            }
+        }
+        animateButtonsReveal(changed);
+    }
+
+    /**
+     * Updates button appearance based on cell state
+     */
+    private void updateButton(JButton button, Cell cell) {
+        if (cell.isFlagged()) {
+            button.setBackground(new Color(50, 30, 30));
+            button.setText("🚩");
+            button.setForeground(new Color(255, 80, 80));
+        } else if (cell.isRevealed()) {
+            button.setBackground(new Color(30, 40, 50));
+            
+            switch (cell.getType()) {
+                case MINE:
+                    button.setText("💣");
+                    button.setForeground(Color.RED);
+                    break;
+                    
+                case NUMBER:
+                    int adjacentMines = cell.getAdjacentMines();
+                    button.setText(String.valueOf(adjacentMines));
+                    button.setForeground(getNumberColor(adjacentMines));
+                    break;
+                    
+                case EMPTY:
+                    button.setText("");
+                    button.setBackground(new Color(40, 50, 60));
+                    break;
+                    
+                case QUESTION:
+                    button.setText(cell.isUsed() ? "✓" : "?");
+                    button.setForeground(new Color(255, 200, 50));
+                    button.setBackground(cell.isUsed() ? 
+                        new Color(50, 60, 40) : new Color(80, 70, 30));
+                    break;
+                    
+                case SURPRISE:
+                    button.setText(cell.isUsed() ? "✓" : "🎁");
+                    button.setBackground(cell.isUsed() ? 
+                        new Color(50, 40, 60) : new Color(70, 40, 80));
+                    break;
+            }
+        } else {
+            button.setBackground(new Color(20, 30, 40));
+            button.setText("");
+        }
+    }
     
     /**
      * Called when the game ends (victory or defeat).
@@ -250,6 +299,27 @@ public class GameUIObserver implements BoardObserver {
         timer.start();
     }
     
+    /**
+     * Same flash as animateButtonReveal for a whole batch, driven by one timer
+     */
+    private void animateButtonsReveal(java.util.List<JButton> buttons) {
+        if (buttons.isEmpty()) return;
+
+        Color[] originalColors = new Color[buttons.size()];
+        for (int i = 0; i < buttons.size(); i++) {
+            originalColors[i] = buttons.get(i).getBackground();
+            buttons.get(i).setBackground(Color.WHITE);
+        }
+
+        Timer timer = new Timer(150, e -> {
+            for (int i = 0; i < buttons.size(); i++) {
+                buttons.get(i).setBackground(originalColors[i]);
+            }
+        });
+        timer.setRepeats(false);
+        timer.start();
+    }
+    
     /**
      * Animates score label when score changes
      */
@@ -4,22 +4,28 @@ import minesweeper.controller.GameHistoryLogic;
 import minesweeper.model.GameHistory;
 import minesweeper.view.components.*;
 import minesweeper.model.GameSession;
+import minesweeper.model.HistoryStatistics;
 
 import minesweeper.model.HistoryFilterStrategy.*;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 import java.awt.Color;
 
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.AbstractTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 
 public class HistoryView extends JPanel {
 
     private JTable historyTable;
-    private DefaultTableModel tableModel;
+    private HistoryTableModel tableModel;
 
 
     // --- FILTER CONTROLS ---
@@ -51,6 +57,18 @@ public class HistoryView extends JPanel {
 
     private boolean isUpdatingCombos = false;
 
+    // History queries run here, one at a time, so file parsing and filtering
+    // never block the EDT. Only the newest request publishes its rows.
+    private static final ExecutorService HISTORY_LOADER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "history-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong latestRequest = new AtomicLong();
+    private Future<?> pendingRequest;
+    private boolean userListStale = true; // reload the user combo with the next query
+
 
     JScrollPane scrollPane;
     JPanel buttonPanel;
@@ -59,7 +77,6 @@ public class HistoryView extends JPanel {
 
     public HistoryView() {
         initComponents();
-        rebuildUserCombo();
 
         fetchAndRefresh();
         createEvents();
@@ -148,16 +165,7 @@ public class HistoryView extends JPanel {
         // =======================
         // TABLE MODEL
         // =======================
-        String[] columns = {
-                "User","Date/Time", "Difficulty", "Player 1", "Player 2", "Score", "Duration", "Winner"
-        };
-
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new HistoryTableModel();
 
         historyTable = new JTable(tableModel);
         historyTable.setFont(new Font("Segoe UI", Font.PLAIN, 16));
@@ -297,7 +305,6 @@ public class HistoryView extends JPanel {
             resultCombo.setSelectedItem("ALL");
             difficultyCombo.setSelectedItem("ALL");
 
-            rebuildUserCombo();
             userCombo.setSelectedItem("ALL");
 
             // reset sort to JSON order
@@ -306,7 +313,7 @@ public class HistoryView extends JPanel {
 
             isUpdatingCombos = false;
 
-            loadHistoryFromLogic();
+            fetchAndRefresh(); // also refreshes the possible users
         });
 
 
@@ -350,7 +357,7 @@ public class HistoryView extends JPanel {
     }
 
     private void fetchAndRefresh() {
-        // TODO Auto-generated method stub
+        userListStale = true;
         loadHistoryFromLogic();
     }
     /*
@@ -394,7 +401,8 @@ public class HistoryView extends JPanel {
         JLabel userLbl = new JLabel("User:");
         userLbl.setForeground(Color.WHITE);
 
-        statsUserCombo = NeonComboBoxFactory.createNeonComboBox(getAllUsersForStats(), new Color(0, 180, 255));
+        // the other users are added once the first summary has been computed
+        statsUserCombo = NeonComboBoxFactory.createNeonComboBox(new String[]{"ALL"}, new Color(0, 180, 255));
         statsUserCombo.setPreferredSize(new Dimension(180, 30));
 
         controls.add(userLbl);
@@ -476,18 +484,8 @@ public class HistoryView extends JPanel {
         panel.add(closePanel);
 
 
-        // --- Refresh function (updates everything according to popup user filter) ---
-        Runnable refresh = () -> {
-            List<GameHistory> baseRows = getCurrentFilteredRows(); // respects main filters + sorting
-            String u = (String) statsUserCombo.getSelectedItem();
-
-            List<GameHistory> statsRows = baseRows;
-            if (u != null && !u.equals("ALL")) {
-                statsRows = baseRows.stream().filter(r -> u.equals(r.getUsername())).toList();
-            }
-
-            StatsSummary s = StatsSummary.from(statsRows);
-
+        // --- Shows one summary (EDT) ---
+        BiConsumer<StatsSummary, HistoryStatistics.Summary> show = (s, stats) -> {
             totalL.setText(String.valueOf(s.total));
             winsL.setText(String.valueOf(s.wins));
             lossesL.setText(String.valueOf(s.losses));
@@ -504,14 +502,49 @@ public class HistoryView extends JPanel {
             diffChart.setData(s.easyCount, s.hardCount, "Easy", "Hard");
 
             // TOP 3 by highest score
-// TOP 3 by highest score
-            List<GameHistory> top3 = statsRows.stream()
-                    .sorted((a, b) -> Integer.compare(b.getFinalScore(), a.getFinalScore()))
-                    .limit(3)
-                    .toList();
+            podium.setTop3(stats.getTop());
+        };
 
-            podium.setTop3(top3);
+        // --- Refresh function (updates everything according to popup user filter) ---
+        // The summary is computed on HISTORY_LOADER, like the table queries, and
+        // only the newest refresh of this dialog publishes it.
+        JComboBox<String> userBox = statsUserCombo;
+        AtomicLong latestStats = new AtomicLong();
+        boolean[] usersLoaded = {false};
+        Runnable refresh = () -> {
+            long ticket = latestStats.incrementAndGet();
+            boolean withUsers = !usersLoaded[0];
+            HistoryFilterStrategy baseFilter = getCurrentFilter(); // respects main filters
+            String u = (String) userBox.getSelectedItem();
 
+            HistoryFilterStrategy statsUserFilter = null;
+            if (u != null && !u.equals("ALL")) {
+                statsUserFilter = r -> u.equals(r.getUsername());
+            }
+            HistoryFilterStrategy userFilter = statsUserFilter;
+
+            HISTORY_LOADER.submit(() -> {
+                if (ticket != latestStats.get()) return; // superseded while queued
+
+                try {
+                    // running totals kept by the logic, no rescan of the history
+                    GameHistoryLogic logic = GameHistoryLogic.getInstance();
+                    List<String> users = withUsers ? logic.getUsernames() : null;
+                    HistoryStatistics.Summary stats = logic.getStatistics(baseFilter, userFilter);
+                    StatsSummary s = StatsSummary.from(stats);
+
+                    SwingUtilities.invokeLater(() -> {
+                        if (ticket != latestStats.get()) return; // a newer refresh will publish
+                        if (users != null) {
+                            addStatsUsers(userBox, users);
+                            usersLoaded[0] = true;
+                        }
+                        show.accept(s, stats);
+                    });
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            });
         };
 
         statsUserCombo.addActionListener(e -> refresh.run());
@@ -526,24 +559,19 @@ public class HistoryView extends JPanel {
         dialog.setVisible(true);
         ;
     }
-    private List<GameHistory> getCurrentFilteredRows() {
+    private HistoryFilterStrategy getCurrentFilter() {
         String selectedUser = (String) userCombo.getSelectedItem();
         String selectedResult = (String) resultCombo.getSelectedItem();
         String selectedDiff = (String) difficultyCombo.getSelectedItem();
 
-        HistoryFilterStrategy filter = new CombinedFilterStrategy(List.of(
+        return new CombinedFilterStrategy(List.of(
                 new UserFilterStrategy(selectedUser),
                 new WinLoseFilterStrategy(selectedResult),
                 new DifficultyFilterStrategy(selectedDiff)
         ));
-
-        HistorySortStrategy sort = null;
-        if (sortMode == SortMode.SCORE_ASC) sort = new ScoreAscSortStrategy();
-        if (sortMode == SortMode.SCORE_DESC) sort = new ScoreDescSortStrategy();
-
-        return GameHistoryLogic.getInstance().getHistoryFilteredSorted(filter, sort);
     }
 
+
     private JPanel makeStatRow(String label, JLabel valueLabel) {
         JPanel row = new JPanel(new BorderLayout());
         row.setOpaque(false);
@@ -562,8 +590,6 @@ public class HistoryView extends JPanel {
     }
 
     public void loadHistoryFromLogic() {
-        tableModel.setRowCount(0);
-
         String selectedUser = (String) userCombo.getSelectedItem();
         String selectedResult = (String) resultCombo.getSelectedItem();        // ALL/WIN/LOSE
         String selectedDiff = (String) difficultyCombo.getSelectedItem();      // ALL/EASY/MEDIUM/HARD
@@ -581,22 +607,43 @@ public class HistoryView extends JPanel {
         if (sortMode == SortMode.SCORE_DESC) sort = new ScoreDescSortStrategy();
 
 
-        // Get filtered + sorted list from controller logic
-        List<GameHistory> rows = GameHistoryLogic.getInstance()
-                .getHistoryFilteredSorted(filter, sort);
-
-        for (GameHistory h : rows) {
-            tableModel.addRow(new Object[]{
-                    h.getUsername(),
-                    h.getFormattedDate(),
-                    h.getDifficulty(),
-                    h.getPlayer1(),
-                    h.getPlayer2(),
-                    h.getFinalScore(),
-                    h.getDuration(),
-                    h.isCoopWin() ? "Co-op Win" : "Loss"
-            });
-        }
+        submitQuery(filter, sort);
+    }
+
+    /**
+     * Runs the query on HISTORY_LOADER and hands the result to the table in
+     * one EDT step. A newer request supersedes this one: if it is still
+     * queued it is dropped, and if it already ran its rows are discarded.
+     */
+    private void submitQuery(HistoryFilterStrategy filter, HistorySortStrategy sort) {
+        long ticket = latestRequest.incrementAndGet();
+        boolean withUsers = userListStale;
+
+        // no interrupt: the logic may be in the middle of reading the history files
+        if (pendingRequest != null) pendingRequest.cancel(false);
+
+        pendingRequest = HISTORY_LOADER.submit(() -> {
+            if (ticket != latestRequest.get()) return; // superseded while queued
+
+            try {
+                // Filtered + sorted list from controller logic. It is a view over
+                // the logic's index, so no rows are copied; the model formats pages on demand.
+                GameHistoryLogic logic = GameHistoryLogic.getInstance();
+                List<String> users = withUsers ? logic.getUsernames() : null;
+                List<GameHistory> rows = logic.getHistoryFilteredSorted(filter, sort);
+
+                SwingUtilities.invokeLater(() -> {
+                    if (ticket != latestRequest.get()) return; // a newer request will publish
+                    if (users != null) {
+                        rebuildUserCombo(users);
+                        userListStale = false;
+                    }
+                    tableModel.setRows(rows);
+                });
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
     }
     /*
     private void rebuildUserCombo() {
@@ -613,36 +660,123 @@ public class HistoryView extends JPanel {
         userCombo.addItem("ALL");
         for (String u : users) userCombo.addItem(u);
     }*/
-    private String[] getAllUsersForStats() {
+    /** Adds the users to a stats combo behind "ALL"; the selection stays. */
+    private static void addStatsUsers(JComboBox<String> combo, List<String> usernames) {
         java.util.Set<String> users = new java.util.TreeSet<>();
-        for (GameHistory h : GameHistoryLogic.getInstance().getAllHistory()) {
-            if (h.getUsername() != null && !h.getUsername().isBlank()) users.add(h.getUsername());
+        for (String u : usernames) {
+            if (u != null && !u.isBlank()) users.add(u);
         }
 
-        java.util.List<String> items = new java.util.ArrayList<>();
-        items.add("ALL");
-        items.addAll(users);
-        return items.toArray(new String[0]);
+        for (String u : users) combo.addItem(u);
     }
 
-    private void rebuildUserCombo() {
+    private void rebuildUserCombo(List<String> usernames) {
         isUpdatingCombos = true;
 
-        List<GameHistory> all = GameHistoryLogic.getInstance().getAllHistory();
+        Object selected = userCombo.getSelectedItem();
         java.util.Set<String> users = new java.util.TreeSet<>();
-        for (GameHistory h : all) {
-            if (h.getUsername() != null && !h.getUsername().isBlank()) {
-                users.add(h.getUsername());
+        for (String u : usernames) {
+            if (u != null && !u.isBlank()) {
+                users.add(u);
             }
         }
 
         userCombo.removeAllItems();
         userCombo.addItem("ALL");
         for (String u : users) userCombo.addItem(u);
+        if (selected != null && users.contains(selected)) userCombo.setSelectedItem(selected);
 
         isUpdatingCombos = false;
     }
 
+    /**
+     * Table model over the filtered, sorted history list.
+     *
+     * Cell values are built a page of PAGE_SIZE rows at a time, the first
+     * time one of its rows is painted, and only the most recent MAX_PAGES
+     * pages are kept. Opening or scrolling a huge history therefore only
+     * formats the rows that are actually visible.
+     */
+    private static class HistoryTableModel extends AbstractTableModel {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final int PAGE_SIZE = 256;
+        private static final int MAX_PAGES = 16;
+        private static final java.time.format.DateTimeFormatter DATE_FORMAT =
+                java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+        private final String[] columnNames = {
+                "User","Date/Time", "Difficulty", "Player 1", "Player 2", "Score", "Duration", "Winner"
+        };
+
+        private List<GameHistory> rows = List.of();
+
+        // page number -> formatted rows, least recently used first
+        private final java.util.LinkedHashMap<Integer, Object[][]> pages =
+                new java.util.LinkedHashMap<>(MAX_PAGES * 2, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(java.util.Map.Entry<Integer, Object[][]> eldest) {
+                        return size() > MAX_PAGES;
+                    }
+                };
+
+        public void setRows(List<GameHistory> rows) {
+            this.rows = rows;
+            pages.clear();
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnNames.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columnNames[column];
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            if (rowIndex < 0 || rowIndex >= rows.size()) return null;
+
+            Object[][] page = pages.computeIfAbsent(rowIndex / PAGE_SIZE, this::loadPage);
+            return page[rowIndex % PAGE_SIZE][columnIndex];
+        }
+
+        private Object[][] loadPage(int pageNumber) {
+            int from = pageNumber * PAGE_SIZE;
+            int to = Math.min(rows.size(), from + PAGE_SIZE);
+
+            Object[][] page = new Object[to - from][];
+            for (int i = from; i < to; i++) {
+                GameHistory h = rows.get(i);
+                page[i - from] = new Object[]{
+                        h.getUsername(),
+                        h.getDateTime().format(DATE_FORMAT),
+                        h.getDifficulty(),
+                        h.getPlayer1(),
+                        h.getPlayer2(),
+                        h.getFinalScore(),
+                        h.getDuration(),
+                        h.isCoopWin() ? "Co-op Win" : "Loss"
+                };
+            }
+            return page;
+        }
+    }
+
     static class BarChartPanel extends JPanel {
         private int leftVal, rightVal;
         private String leftLabel = "A", rightLabel = "B";
@@ -697,9 +831,9 @@ public class HistoryView extends JPanel {
 
         String bestScoreText, avgScoreText, lastPlayedText, mostPlayedDifficulty, avgDurationText;
 
-        static StatsSummary from(List<GameHistory> records) {
+        static StatsSummary from(HistoryStatistics.Summary stats) {
             StatsSummary s = new StatsSummary();
-            s.total = records.size();
+            s.total = stats.getTotal();
 
             if (s.total == 0) {
                 s.wins = s.losses = 0;
@@ -712,86 +846,27 @@ public class HistoryView extends JPanel {
                 return s;
             }
 
-            int best = Integer.MIN_VALUE;
-            long sumScore = 0;
+            s.wins = stats.getWins();
+            s.losses = stats.getLosses();
+            s.winRate = stats.getWinRate();
 
-            // last played (we’ll keep as string for now)
-            String lastPlayed = records.get(0).getFormattedDate();
+            s.easyCount = stats.getCount(GameSession.Difficulty.EASY);
+            s.mediumCount = stats.getCount(GameSession.Difficulty.MEDIUM);
+            s.hardCount = stats.getCount(GameSession.Difficulty.HARD);
 
-            java.util.Map<String, Integer> diffCount = new java.util.HashMap<>();
-
-            // duration: we’ll average ONLY if it’s numeric seconds or "mm:ss" (simple parsing)
-            long sumDurationSec = 0;
-            int durationCount = 0;
-
-            for (GameHistory r : records) {
-                if (r.isCoopWin()) s.wins++;
-                switch (r.getDifficulty()) {
-                    case EASY -> s.easyCount++;
-                    case MEDIUM -> s.mediumCount++;
-                    case HARD -> s.hardCount++;
-                }
+            s.bestScoreText = String.valueOf(stats.getBestScore());
+            s.avgScoreText = String.format("%.1f", stats.getAverageScore());
 
-                int score = r.getFinalScore();
-                sumScore += score;
-                best = Math.max(best, score);
-
-                // keep latest as "last row max" (string compare not reliable) -> we’ll just use the latest encountered
-                // If your formatted date is consistent, later we can parse properly.
-                lastPlayed = r.getFormattedDate();
-
-                //diffCount.merge(r.getDifficulty(), 1, Integer::sum);
-
-                diffCount.merge(r.getDifficulty().name(), 1, Integer::sum);
-
-                Integer durSec = tryParseDurationToSeconds(r.getDuration());
-                if (durSec != null) {
-                    sumDurationSec += durSec;
-                    durationCount++;
-                }
-            }
+            s.lastPlayedText = stats.getLastPlayed().getFormattedDate();
+            GameSession.Difficulty mostPlayed = stats.getMostPlayedDifficulty();
+            s.mostPlayedDifficulty = (mostPlayed == null) ? "-" : mostPlayed.name();
 
-            s.losses = s.total - s.wins;
-            s.winRate = (s.wins * 100.0) / s.total;
-
-            s.bestScoreText = String.valueOf(best);
-            s.avgScoreText = String.format("%.1f", (sumScore * 1.0) / s.total);
-
-            s.lastPlayedText = lastPlayed;
-
-            s.mostPlayedDifficulty = diffCount.entrySet().stream()
-                    .max(java.util.Map.Entry.comparingByValue())
-                    .map(java.util.Map.Entry::getKey)
-                    .orElse("-");
-
-            s.avgDurationText = (durationCount == 0)
-                    ? "-"
-                    : formatSeconds(sumDurationSec / durationCount);
+            long avgDuration = stats.getAverageDurationSeconds();
+            s.avgDurationText = (avgDuration < 0) ? "-" : formatSeconds(avgDuration);
 
             return s;
         }
 
-        private static Integer tryParseDurationToSeconds(String duration) {
-            if (duration == null) return null;
-
-            // if your duration is already seconds:
-            try {
-                return Integer.parseInt(duration.trim());
-            } catch (Exception ignored) {}
-
-            // if it’s "mm:ss"
-            try {
-                String[] parts = duration.trim().split(":");
-                if (parts.length == 2) {
-                    int m = Integer.parseInt(parts[0]);
-                    int s = Integer.parseInt(parts[1]);
-                    return m * 60 + s;
-                }
-            } catch (Exception ignored) {}
-
-            return null;
-        }
-
         private static String formatSeconds(long sec) {
             long m = sec / 60;
             long s = sec % 60;
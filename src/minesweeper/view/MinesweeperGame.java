@@ -5,13 +5,13 @@ import minesweeper.controller.GameController;
 import minesweeper.model.QuestionDifficulty;
 import minesweeper.model.Question;
 import minesweeper.model.audio.AudioManager;
+import minesweeper.observer.BoardObserver;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
-import java.util.Queue;
-import java.util.LinkedList;
+import java.util.concurrent.ThreadLocalRandom;
 
 
 public class MinesweeperGame extends JFrame {
@@ -32,6 +32,7 @@ public class MinesweeperGame extends JFrame {
 
     private int elapsedSeconds;
     private QuestionBank questionBank;
+    private QuestionSampler questionSampler; // no repeats within this game
     /*
     revealAllTiles(session.getPlayerABoard(), playerABoard);
     revealAllTiles(session.getPlayerBBoard(), playerBBoard);
@@ -51,6 +52,10 @@ public class MinesweeperGame extends JFrame {
 
         // Use the QuestionBank passed as parameter (contains the user's uploaded CSV)
         this.questionBank = questionBank;
+        if (questionBank != null) {
+            String username = SessionContext.currentUser == null ? null : SessionContext.currentUser.getUsername();
+            this.questionSampler = questionBank.newSampler(username, new Random());
+        }
 
         // Verify the question bank is loaded
         if (questionBank != null && questionBank.isLoaded()) {
@@ -274,10 +279,10 @@ public class MinesweeperGame extends JFrame {
                 Cell cell = board.getCell(row, col);
                 if (!cell.isRevealed()) {
                     cell.setRevealed(true);
-                    boardPanel.getButton(row, col).updateDisplay();
                 }
             }
         }
+        boardPanel.repaintChangedCells();
     }
 
     private void createBottomPanel() {
@@ -392,7 +397,7 @@ public class MinesweeperGame extends JFrame {
     }
 
     // Inner class for board panel
-    class BoardPanel extends JPanel {
+    class BoardPanel extends JPanel implements BoardObserver {
         private String title;
         private Board board;
         private Color themeColor;
@@ -414,7 +419,7 @@ public class MinesweeperGame extends JFrame {
 
             createHeader();
             createGrid();
-
+            board.addObserver(this);
 
         }
 
@@ -487,6 +492,37 @@ public class MinesweeperGame extends JFrame {
         public CellButton getButton(int row, int col) {
             return buttons[row][col];
         }
+
+        /**
+         * Ends the current move on this board. The board reports the cells it
+         * changed in one batch and only those buttons are repainted.
+         */
+        public void repaintChangedCells() {
+            board.publishChanges();
+        }
+
+        // Already on the EDT here: publishChanges() is only called from UI handlers
+        @Override
+        public void onCellsRevealed(Board source, int[] packedIndices) {
+            int size = source.getSize();
+            for (int index : packedIndices) {
+                buttons[index / size][index % size].updateDisplay();
+            }
+        }
+
+        @Override
+        public void onCellRevealed(int row, int col, Cell cell) {
+            buttons[row][col].updateDisplay();
+        }
+
+        // Game over and score are driven by MinesweeperGame itself
+        @Override
+        public void onGameOver(boolean won) {
+        }
+
+        @Override
+        public void onScoreChanged(int newScore) {
+        }
     }
 
     // Inner class for cell buttons
@@ -566,7 +602,7 @@ public class MinesweeperGame extends JFrame {
                         break;
                 }
 
-                updateDisplay();
+                repaintChangedCells();
                 updateGameDisplay();
                 switchTurn();
             } else if (cell.isRevealed() && !cell.isUsed() && !cell.isFlagged()) {
@@ -597,103 +633,20 @@ public class MinesweeperGame extends JFrame {
                             JOptionPane.ERROR_MESSAGE);
                 }
 
-                updateDisplay();
+                repaintChangedCells();
                 updateGameDisplay();
             }
         }
 
         private void performCascade(int startRow, int startCol) {
-            Queue<int[]> queue = new LinkedList<>();
-            boolean[][] visited = new boolean[board.getSize()][board.getSize()];
-
-            queue.offer(new int[]{startRow, startCol});
-            visited[startRow][startCol] = true;
-
-            while (!queue.isEmpty()) {
-                int[] pos = queue.poll();
-                int r = pos[0];
-                int c = pos[1];
-
-                for (int dr = -1; dr <= 1; dr++) {
-                    for (int dc = -1; dc <= 1; dc++) {
-                        if (dr == 0 && dc == 0) continue;
-
-                        int newRow = r + dr;
-                        int newCol = c + dc;
-
-                        if (board.isValid(newRow, newCol) && !visited[newRow][newCol]) {
-                            visited[newRow][newCol] = true;
-                            Cell neighbor = board.getCell(newRow, newCol);
-
-                            if (!neighbor.isRevealed() && !neighbor.isFlagged()) {
-                                neighbor.setRevealed(true);
-                                controller.addScore(1);
-
-                                if (neighbor.getType() == Cell.CellType.EMPTY ||
-                                        neighbor.getType() == Cell.CellType.QUESTION ||
-                                        neighbor.getType() == Cell.CellType.SURPRISE) {
-                                    queue.offer(new int[]{newRow, newCol});
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-
-            BoardPanel boardPanel = isPlayerA ? playerABoard : playerBBoard;
-            for (int i = 0; i < board.getSize(); i++) {
-                for (int j = 0; j < board.getSize(); j++) {
-                    boardPanel.getButton(i, j).updateDisplay();
-                }
-            }
-
-
+            int revealed = board.getCascadeEngine()
+                    .cascade(startRow, startCol, CascadeEngine.Rule.THROUGH_SPECIAL);
+            controller.addScore(revealed);
         }
 
         private void performSpecialCascade(int startRow, int startCol) {
-            Queue<int[]> queue = new LinkedList<>();
-            boolean[][] visited = new boolean[board.getSize()][board.getSize()];
-
-            queue.offer(new int[]{startRow, startCol});
-            visited[startRow][startCol] = true;
-
-            while (!queue.isEmpty()) {
-                int[] pos = queue.poll();
-                int r = pos[0];
-                int c = pos[1];
-
-                for (int dr = -1; dr <= 1; dr++) {
-                    for (int dc = -1; dc <= 1; dc++) {
-                        if (dr == 0 && dc == 0) continue;
-
-                        int newRow = r + dr;
-                        int newCol = c + dc;
-
-                        if (board.isValid(newRow, newCol) && !visited[newRow][newCol]) {
-                            visited[newRow][newCol] = true;
-                            Cell neighbor = board.getCell(newRow, newCol);
-
-                            if (!neighbor.isRevealed() && !neighbor.isFlagged()) {
-                                neighbor.setRevealed(true);
-                                controller.addScore(1);
-
-                                if (neighbor.getType() == Cell.CellType.EMPTY ||
-                                        neighbor.getType() == Cell.CellType.QUESTION ||
-                                        neighbor.getType() == Cell.CellType.SURPRISE) {
-                                    queue.offer(new int[]{newRow, newCol});
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-
-            BoardPanel boardPanel = isPlayerA ? playerABoard : playerBBoard;
-            for (int i = 0; i < board.getSize(); i++) {
-                for (int j = 0; j < board.getSize(); j++) {
-                    boardPanel.getButton(i, j).updateDisplay();
-                }
-            }
+            // Question and surprise tiles open up the same way empty tiles do
+            performCascade(startRow, startCol);
         }
 
         private void activateQuestionTile() {
@@ -720,16 +673,11 @@ public class MinesweeperGame extends JFrame {
             }
 
             QuestionDifficulty[] difficulties = QuestionDifficulty.values();
-            QuestionDifficulty qDiff = difficulties[new Random().nextInt(difficulties.length)];
+            QuestionDifficulty qDiff = difficulties[ThreadLocalRandom.current().nextInt(difficulties.length)];
 
-            java.util.List<Question> candidates = new java.util.ArrayList<>();
-            for (Question q : questionBank.getAllQuestions()) {
-                if (q.getDifficulty() == qDiff) {
-                    candidates.add(q);
-                }
-            }
+            Question question = questionSampler.next(qDiff);
 
-            if (candidates.isEmpty()) {
+            if (question == null) {
                 JOptionPane.showMessageDialog(
                         MinesweeperGame.this,
                         "No questions available for difficulty: " + qDiff,
@@ -739,8 +687,6 @@ public class MinesweeperGame extends JFrame {
                 return;
             }
 
-            Question question = candidates.get(new Random().nextInt(candidates.size()));
-
             String[] options = {
                     question.getOptionA(),
                     question.getOptionB(),
@@ -772,20 +718,14 @@ public class MinesweeperGame extends JFrame {
                 if (qDiff == QuestionDifficulty.MEDIUM && correct) {
                     int[] minePos = controller.revealRandomMineTile(board);
                     if (minePos != null) {
-                        BoardPanel boardPanel = isPlayerA ? playerABoard : playerBBoard;
-                        boardPanel.getButton(minePos[0], minePos[1]).updateDisplay();
+                        repaintChangedCells();
                         feedback += "\n\n🎁 Bonus: Random mine revealed!";
                     }
                 } else if (qDiff == QuestionDifficulty.HARD && correct) {
                     java.util.List<int[]> revealedCells = controller.reveal3x3Area(row, col, board);
                     if (!revealedCells.isEmpty()) {
-                        BoardPanel boardPanel = isPlayerA ? playerABoard : playerBBoard;
-                        // Refresh all cells to show cascaded reveals from EMPTY cells
-                        for (int r = 0; r < board.getSize(); r++) {
-                            for (int c = 0; c < board.getSize(); c++) {
-                                boardPanel.getButton(r, c).updateDisplay();
-                            }
-                        }
+                        // Includes cells opened by cascades from EMPTY cells in the area
+                        repaintChangedCells();
                         feedback += "\n\n🎁 Bonus: 3×3 area revealed!";
                     }
                 }
@@ -800,7 +740,7 @@ public class MinesweeperGame extends JFrame {
                     correct ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.ERROR_MESSAGE
             );
 
-            updateDisplay();
+            repaintChangedCells();
             updateGameDisplay();
             switchTurn();
         }
@@ -821,11 +761,15 @@ public class MinesweeperGame extends JFrame {
             JOptionPane.showMessageDialog(MinesweeperGame.this, feedback,
                     "Surprise Tile", JOptionPane.INFORMATION_MESSAGE);
 
-            updateDisplay();
+            repaintChangedCells();
             updateGameDisplay();
             switchTurn();
         }
 
+        private void repaintChangedCells() {
+            (isPlayerA ? playerABoard : playerBBoard).repaintChangedCells();
+        }
+
         public void updateDisplay() {
             if (cell.isFlagged()) {
                 if (cell.getType() == Cell.CellType.MINE) {
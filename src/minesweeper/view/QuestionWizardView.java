@@ -5,6 +5,8 @@ import minesweeper.model.Question;
 import minesweeper.model.QuestionDifficulty;
 import javax.swing.*;
 import javax.swing.border.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.*;
 import java.awt.*;
@@ -61,6 +63,10 @@ public class QuestionWizardView extends JFrame {
     private JButton searchButton;
     private JScrollPane tableScrollPane;
 
+    // Searches while typing: restarted by every edit, fires once typing pauses
+    private static final int SEARCH_DEBOUNCE_MS = 200;
+    private Timer searchDebounce;
+
     // CRUD operation buttons
     private JButton createButton;
     private JButton editButton;
@@ -152,14 +158,34 @@ public class QuestionWizardView extends JFrame {
             }
         });
 
+        searchDebounce = new Timer(SEARCH_DEBOUNCE_MS, e -> {
+            if (searchListener != null) searchListener.actionPerformed(e);
+        });
+        searchDebounce.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchDebounce.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchDebounce.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchDebounce.restart();
+            }
+        });
+        difficultyCombo.addActionListener(e -> searchDebounce.restart());
+
         searchButton = createStyledButton("Search", ACCENT_CYAN);
+        searchButton.addActionListener(e -> searchDebounce.stop()); // searched now, not again
+        // Wire up button actions
         searchButton.addActionListener(e -> {
-            System.out.println("SEARCH BUTTON CLICKED ✅");
             if (searchListener != null) searchListener.actionPerformed(e);
         });
-        // Wire up button actions
-        searchButton.addActionListener(e -> System.out.println("SEARCH CLICK ✅"));
-
         uploadButton.addActionListener(e -> {
             if (uploadListener != null) uploadListener.actionPerformed(e);
         });
@@ -541,10 +567,12 @@ public class QuestionWizardView extends JFrame {
 
         tableModel.setQuestions(questions);
 
-        mainPanel.removeAll();
-        mainPanel.add(tableScrollPane, BorderLayout.CENTER);
-        mainPanel.revalidate();
-        mainPanel.repaint();
+        if (tableScrollPane.getParent() != mainPanel) {
+            mainPanel.removeAll();
+            mainPanel.add(tableScrollPane, BorderLayout.CENTER);
+            mainPanel.revalidate();
+            mainPanel.repaint();
+        }
 
         subtitleLabel.setText("Loaded from: " + (loadedFileName.isEmpty() ? "questions.csv" : loadedFileName));
         statusLabel.setText(questions.size() + " questions loaded");
@@ -631,10 +659,7 @@ public class QuestionWizardView extends JFrame {
     }
     // US-14 API
     public void setSearchListener(ActionListener listener) {
-        System.out.println("VIEW setSearchListener ✅ searchButton=" + searchButton);
-
-        searchButton.addActionListener(e -> System.out.println("SEARCH CLICK ✅"));
-        searchButton.addActionListener(listener);
+        this.searchListener = listener;
     }
 
     public String getSearchText() {
@@ -820,15 +845,79 @@ public class QuestionWizardView extends JFrame {
                 "ID", "DIFFICULTY", "QUESTION TEXT", "A", "B", "C", "D", "CORRECT"
         };
 
+        // More row ranges than this and one full refresh is cheaper
+        private static final int MAX_ROW_EVENTS = 64;
+
         private List<Question> questions = new ArrayList<>();
 
+        /**
+         * Replaces the rows, firing only the rows that were inserted or
+         * deleted when the new list is the old one with rows added or
+         * removed (typing a longer or shorter search). The table keeps its
+         * selection and scroll position that way; anything else is one
+         * full refresh.
+         */
         public void setQuestions(List<Question> questions) {
-            this.questions = new ArrayList<>(questions);
+            List<Question> next = new ArrayList<>(questions);
             // Auto-sort by difficulty: EASY → MEDIUM → HARD → EXPERT
-            this.questions.sort(java.util.Comparator.comparingInt(q -> q.getDifficulty().getValue()));
+            next.sort(java.util.Comparator.comparingInt(q -> q.getDifficulty().getValue()));
+
+            List<Question> old = this.questions;
+            int prefix = 0;
+            int common = Math.min(old.size(), next.size());
+            while (prefix < common && old.get(prefix) == next.get(prefix)) prefix++;
+            int suffix = 0;
+            while (suffix < common - prefix
+                    && old.get(old.size() - 1 - suffix) == next.get(next.size() - 1 - suffix)) suffix++;
+            int oldEnd = old.size() - suffix;
+            int nextEnd = next.size() - suffix;
+
+            List<int[]> deleted = missingRuns(old, next, prefix, oldEnd, nextEnd);
+            if (deleted != null && deleted.size() <= MAX_ROW_EVENTS) {
+                // back to front, so the indexes of earlier runs stay valid
+                for (int i = deleted.size() - 1; i >= 0; i--) {
+                    int[] run = deleted.get(i);
+                    old.subList(run[0], run[1] + 1).clear();
+                    fireTableRowsDeleted(run[0], run[1]);
+                }
+                return;
+            }
+            List<int[]> inserted = missingRuns(next, old, prefix, nextEnd, oldEnd);
+            if (inserted != null && inserted.size() <= MAX_ROW_EVENTS) {
+                // front to back, each run lands at its index in the new list
+                for (int[] run : inserted) {
+                    old.addAll(run[0], next.subList(run[0], run[1] + 1));
+                    fireTableRowsInserted(run[0], run[1]);
+                }
+                return;
+            }
+            this.questions = next;
             fireTableDataChanged();
         }
 
+        /**
+         * Index ranges of {@code big}[from, bigEnd) that are not in
+         * {@code small}[from, smallEnd), if the latter is a subsequence of
+         * the former; otherwise null.
+         */
+        private static List<int[]> missingRuns(List<Question> big, List<Question> small,
+                                               int from, int bigEnd, int smallEnd) {
+            if (bigEnd - from < smallEnd - from) return null;
+            List<int[]> runs = new ArrayList<>();
+            int j = from;
+            for (int i = from; i < bigEnd; i++) {
+                if (j < smallEnd && big.get(i) == small.get(j)) {
+                    j++;
+                } else if (!runs.isEmpty() && runs.get(runs.size() - 1)[1] == i - 1) {
+                    runs.get(runs.size() - 1)[1] = i;
+                } else {
+                    runs.add(new int[]{i, i});
+                    if (runs.size() > MAX_ROW_EVENTS) return runs;
+                }
+            }
+            return j == smallEnd ? runs : null;
+        }
+
         @Override
         public int getRowCount() {
             return questions.size();
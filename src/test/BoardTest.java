@@ -0,0 +1,331 @@
+package test;
+
+import minesweeper.model.Board;
+import minesweeper.model.CascadeEngine;
+import minesweeper.model.Cell;
+import minesweeper.observer.BoardObserver;
+import org.junit.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * UT-02: Unit Test for the packed Board representation
+ *
+ * Board keeps every square in one packed short[]; Cell is a view over it.
+ * These tests make sure the view reads and writes the same state the board
+ * generated, and that generation still honours the requested counts.
+ *
+ * Test Case Overview – BoardTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-02-TC01   | testTileCountsMatchRequest     | Mines / questions / surprises placed as requested   |
+ * | UT-02-TC02   | testAdjacentCountsAreCorrect   | NUMBER cells carry the right neighbour mine count   |
+ * | UT-02-TC03   | testCellViewWritesThrough      | Setters on a Cell view are visible via new views    |
+ * | UT-02-TC04   | testFlagsAreIndependent        | Revealed / flagged / used bits do not clobber type  |
+ * | UT-02-TC05   | testStandaloneCell             | new Cell() behaves like the old field-based Cell    |
+ * | UT-02-TC06   | testLargeBoard                 | A 1000x1000 board can be generated                  |
+ * | UT-02-TC07   | testStandardCascadeStopsAtSpecial | STANDARD rule leaves question/surprise hidden    |
+ * | UT-02-TC08   | testCascadeReportsChangedCells | Changed list matches what was actually revealed     |
+ * | UT-02-TC09   | testCascadeOnHugeBoard         | 2000x2000 open board floods without recursion       |
+ * | UT-02-TC10   | testDirtyCellsTrackChanges     | Only changed cells are reported, once each          |
+ * | UT-02-TC11   | testPublishChangesSingleBatch  | A whole cascade reaches observers as one batch      |
+ * | UT-02-TC12   | testSeededBoardsAreReproducible| Same seed gives the same layout                     |
+ * | UT-02-TC13   | testHighDensityGeneration      | 90% mine density generates quickly and exactly      |
+ * | UT-02-TC14   | testParallelAdjacentCounts     | Counts on a board above the parallel threshold      |
+ */
+public class BoardTest {
+
+    /**
+     * UT-02-TC01: Tile counts
+     */
+    @Test
+    public void testTileCountsMatchRequest() {
+        Board board = new Board(16, 44, 11, 4);
+
+        int mines = 0, questions = 0, surprises = 0;
+        for (int r = 0; r < board.getSize(); r++) {
+            for (int c = 0; c < board.getSize(); c++) {
+                switch (board.getCell(r, c).getType()) {
+                    case MINE: mines++; break;
+                    case QUESTION: questions++; break;
+                    case SURPRISE: surprises++; break;
+                    default: break;
+                }
+            }
+        }
+
+        assertEquals(44, mines);
+        assertEquals(11, questions);
+        assertEquals(4, surprises);
+    }
+
+    /**
+     * UT-02-TC02: Adjacent mine counts
+     */
+    @Test
+    public void testAdjacentCountsAreCorrect() {
+        assertAdjacentCounts(new Board(13, 26, 7, 3));
+    }
+
+    private static void assertAdjacentCounts(Board board) {
+        int size = board.getSize();
+
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.getType() == Cell.CellType.MINE) continue;
+
+                int expected = 0;
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        if ((dr != 0 || dc != 0) && board.isValid(r + dr, c + dc)
+                                && board.getCell(r + dr, c + dc).getType() == Cell.CellType.MINE) {
+                            expected++;
+                        }
+                    }
+                }
+
+                assertEquals("adjacent count at " + r + "," + c, expected, cell.getAdjacentMines());
+                if (expected > 0) {
+                    assertEquals(Cell.CellType.NUMBER, cell.getType());
+                }
+            }
+        }
+    }
+
+    /**
+     * UT-02-TC03: Cell views write through to the board
+     */
+    @Test
+    public void testCellViewWritesThrough() {
+        Board board = new Board(9, 10, 6, 2);
+
+        board.getCell(3, 4).setRevealed(true);
+        board.getCell(5, 6).setFlagged(true);
+
+        assertTrue(board.getCell(3, 4).isRevealed());
+        assertTrue(board.getCell(5, 6).isFlagged());
+        assertFalse(board.getCell(4, 3).isRevealed());
+        assertTrue(board.getCells()[3][4].isRevealed());
+    }
+
+    /**
+     * UT-02-TC04: Flag bits are independent of type and count
+     */
+    @Test
+    public void testFlagsAreIndependent() {
+        Cell cell = new Cell();
+        cell.setType(Cell.CellType.NUMBER);
+        cell.setAdjacentMines(8);
+
+        cell.setRevealed(true);
+        cell.setFlagged(true);
+        cell.setUsed(true);
+        assertEquals(Cell.CellType.NUMBER, cell.getType());
+        assertEquals(8, cell.getAdjacentMines());
+
+        cell.setFlagged(false);
+        assertTrue(cell.isRevealed());
+        assertFalse(cell.isFlagged());
+        assertTrue(cell.isUsed());
+
+        cell.setType(Cell.CellType.SURPRISE);
+        assertEquals(Cell.CellType.SURPRISE, cell.getType());
+        assertEquals(8, cell.getAdjacentMines());
+        assertTrue(cell.isRevealed());
+    }
+
+    /**
+     * UT-02-TC05: Standalone cell defaults
+     */
+    @Test
+    public void testStandaloneCell() {
+        Cell cell = new Cell();
+        assertEquals(Cell.CellType.EMPTY, cell.getType());
+        assertEquals(0, cell.getAdjacentMines());
+        assertFalse(cell.isRevealed());
+        assertFalse(cell.isFlagged());
+        assertFalse(cell.isUsed());
+    }
+
+    /**
+     * UT-02-TC06: Large custom board
+     */
+    @Test(timeout = 10000)
+    public void testLargeBoard() {
+        Board board = new Board(1000, 150_000, 500, 500);
+        assertEquals(1000, board.getSize());
+        assertEquals(150_000, board.getTotalMines());
+    }
+
+    /**
+     * UT-02-TC07: STANDARD cascade does not open special tiles
+     */
+    @Test
+    public void testStandardCascadeStopsAtSpecial() {
+        Board board = new Board(20, 0, 30, 30);
+        int start = firstEmpty(board);
+        int size = board.getSize();
+        board.getCell(start / size, start % size).setRevealed(true);
+
+        board.getCascadeEngine().cascade(start / size, start % size, CascadeEngine.Rule.STANDARD);
+
+        for (int r = 0; r < board.getSize(); r++) {
+            for (int c = 0; c < board.getSize(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.getType() == Cell.CellType.QUESTION || cell.getType() == Cell.CellType.SURPRISE) {
+                    assertFalse(cell.isRevealed());
+                }
+            }
+        }
+    }
+
+    /**
+     * UT-02-TC08: Changed cells are reported exactly once
+     */
+    @Test
+    public void testCascadeReportsChangedCells() {
+        Board board = new Board(30, 60, 10, 5);
+        int size = board.getSize();
+        int start = firstEmpty(board);
+        board.getCell(start / size, start % size).setRevealed(true);
+
+        CascadeEngine engine = board.getCascadeEngine();
+        int revealed = engine.cascade(start / size, start % size, CascadeEngine.Rule.THROUGH_SPECIAL);
+
+        boolean[] seen = new boolean[size * size];
+        for (int i = 0; i < revealed; i++) {
+            int index = engine.getChangedCell(i);
+            assertFalse("reported twice: " + index, seen[index]);
+            seen[index] = true;
+            assertTrue(board.getCell(index / size, index % size).isRevealed());
+        }
+        int revealedOnBoard = 0;
+        for (int i = 0; i < size * size; i++) {
+            if (board.getCell(i / size, i % size).isRevealed()) revealedOnBoard++;
+        }
+        assertEquals(revealedOnBoard, revealed + 1);
+    }
+
+    /**
+     * UT-02-TC09: Very large cascade
+     */
+    @Test(timeout = 20000)
+    public void testCascadeOnHugeBoard() {
+        Board board = new Board(2000, 0, 0, 0);
+        board.getCell(1000, 1000).setRevealed(true);
+
+        int revealed = board.getCascadeEngine().cascade(1000, 1000, CascadeEngine.Rule.STANDARD);
+
+        assertEquals(2000 * 2000 - 1, revealed);
+        assertTrue(board.getCell(0, 0).isRevealed());
+        assertTrue(board.getCell(1999, 1999).isRevealed());
+    }
+
+    /**
+     * UT-02-TC10: Dirty cell tracking
+     */
+    @Test
+    public void testDirtyCellsTrackChanges() {
+        Board board = new Board(9, 10, 6, 2);
+        assertEquals("generation is not a change", 0, board.takeDirtyCells().length);
+
+        board.getCell(2, 3).setRevealed(true);
+        board.getCell(2, 3).setFlagged(true);
+        board.getCell(7, 1).setUsed(true);
+
+        int[] dirty = board.takeDirtyCells();
+        assertArrayEquals(new int[]{2 * 9 + 3, 7 * 9 + 1}, dirty);
+        assertEquals(0, board.takeDirtyCells().length);
+
+        board.getCell(2, 3).setUsed(true);
+        assertArrayEquals(new int[]{2 * 9 + 3}, board.takeDirtyCells());
+    }
+
+    /**
+     * UT-02-TC11: One observer batch per move
+     */
+    @Test
+    public void testPublishChangesSingleBatch() {
+        Board board = new Board(50, 0, 0, 0);
+        List<int[]> batches = new ArrayList<>();
+        List<Integer> singles = new ArrayList<>();
+        board.addObserver(new BoardObserver() {
+            @Override
+            public void onCellsRevealed(Board source, int[] packedIndices) {
+                batches.add(packedIndices);
+            }
+            @Override
+            public void onCellRevealed(int row, int col, Cell cell) {
+                singles.add(row * 50 + col);
+            }
+            @Override
+            public void onGameOver(boolean won) { }
+            @Override
+            public void onScoreChanged(int newScore) { }
+        });
+
+        board.getCell(0, 0).setRevealed(true);
+        board.getCascadeEngine().cascade(0, 0, CascadeEngine.Rule.STANDARD);
+        board.publishChanges();
+        board.publishChanges();
+
+        assertEquals(1, batches.size());
+        assertEquals(50 * 50, batches.get(0).length);
+        assertTrue(singles.isEmpty());
+    }
+
+    /**
+     * UT-02-TC12: Seeded generation
+     */
+    @Test
+    public void testSeededBoardsAreReproducible() {
+        Board first = new Board(16, 44, 11, 4, 1234L);
+        Board second = new Board(16, 44, 11, 4, 1234L);
+
+        for (int r = 0; r < 16; r++) {
+            for (int c = 0; c < 16; c++) {
+                assertEquals(first.getCell(r, c).getType(), second.getCell(r, c).getType());
+                assertEquals(first.getCell(r, c).getAdjacentMines(), second.getCell(r, c).getAdjacentMines());
+            }
+        }
+    }
+
+    /**
+     * UT-02-TC13: High mine density
+     */
+    @Test(timeout = 10000)
+    public void testHighDensityGeneration() {
+        Board board = new Board(1000, 900_000, 1000, 1000, 7L);
+
+        int mines = 0;
+        for (int r = 0; r < 1000; r++) {
+            for (int c = 0; c < 1000; c++) {
+                if (board.getCell(r, c).getType() == Cell.CellType.MINE) mines++;
+            }
+        }
+        assertEquals(900_000, mines);
+        assertEquals(900_000, board.getTotalMines());
+    }
+
+    /**
+     * UT-02-TC14: Parallel adjacency counting
+     */
+    @Test(timeout = 20000)
+    public void testParallelAdjacentCounts() {
+        assertAdjacentCounts(new Board(600, 60_000, 100, 100, 42L));
+    }
+
+    private static int firstEmpty(Board board) {
+        int size = board.getSize();
+        for (int i = 0; i < size * size; i++) {
+            if (board.getCell(i / size, i % size).getType() == Cell.CellType.EMPTY) return i;
+        }
+        fail("board has no empty cell");
+        return -1;
+    }
+}
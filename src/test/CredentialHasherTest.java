@@ -0,0 +1,115 @@
+package test;
+
+import minesweeper.model.security.Pbkdf2CredentialHasher;
+import org.junit.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * UT-07: Unit Test for Pbkdf2CredentialHasher
+ *
+ * Test Case Overview – CredentialHasherTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-07-TC01   | testHashAndVerify              | Right password verifies, wrong ones do not          |
+ * | UT-07-TC02   | testSaltPerHash                | Same password gives a different credential each time|
+ * | UT-07-TC03   | testLegacyPlainText            | Unhashed passwords verify and need a rehash         |
+ * | UT-07-TC04   | testRehashOnCostChange         | Old iteration counts verify and need a rehash       |
+ * | UT-07-TC05   | testMalformedCredential        | Damaged credentials never verify                    |
+ * | UT-07-TC06   | testTuning                     | Tuned count is within bounds and scales with target |
+ */
+public class CredentialHasherTest {
+
+    private final Pbkdf2CredentialHasher hasher = new Pbkdf2CredentialHasher(1000);
+
+    /**
+     * UT-07-TC01: Hash and verify
+     */
+    @Test
+    public void testHashAndVerify() {
+        String stored = hasher.hash("p@ss!w0rd#123".toCharArray());
+
+        assertTrue(stored.startsWith(Pbkdf2CredentialHasher.PREFIX + "$1000$"));
+        assertTrue(hasher.verify("p@ss!w0rd#123".toCharArray(), stored));
+        assertFalse(hasher.verify("p@ss!w0rd#124".toCharArray(), stored));
+        assertFalse(hasher.verify("".toCharArray(), stored));
+        assertFalse(hasher.needsRehash(stored));
+    }
+
+    /**
+     * UT-07-TC02: Salt per hash
+     */
+    @Test
+    public void testSaltPerHash() {
+        String a = hasher.hash("same".toCharArray());
+        String b = hasher.hash("same".toCharArray());
+
+        assertNotEquals(a, b);
+        assertTrue(hasher.verify("same".toCharArray(), a));
+        assertTrue(hasher.verify("same".toCharArray(), b));
+    }
+
+    /**
+     * UT-07-TC03: Plain-text records from before hashing
+     */
+    @Test
+    public void testLegacyPlainText() {
+        assertTrue(hasher.verify("Vainblat".toCharArray(), "Vainblat"));
+        assertFalse(hasher.verify("vainblat".toCharArray(), "Vainblat"));
+        assertFalse(hasher.verify("".toCharArray(), "Vainblat"));
+        assertTrue(hasher.needsRehash("Vainblat"));
+    }
+
+    /**
+     * UT-07-TC04: Iteration count changed
+     */
+    @Test
+    public void testRehashOnCostChange() {
+        String old = hasher.hash("secret".toCharArray());
+        Pbkdf2CredentialHasher stronger = new Pbkdf2CredentialHasher(4000);
+
+        assertTrue(stronger.verify("secret".toCharArray(), old));
+        assertTrue(stronger.needsRehash(old));
+        assertFalse(new Pbkdf2CredentialHasher(1100).needsRehash(old)); // within tolerance
+    }
+
+    /**
+     * UT-07-TC05: Damaged credentials
+     */
+    @Test
+    public void testMalformedCredential() {
+        String prefix = Pbkdf2CredentialHasher.PREFIX + "$";
+        for (String stored : new String[]{prefix, prefix + "x$AAAA$AAAA", prefix + "1000$!!$AAAA",
+                prefix + "1000$AAAA$", prefix + "-5$AAAA$AAAA", prefix + "99999999$AAAA$AAAA"}) {
+            assertFalse(stored, hasher.verify("secret".toCharArray(), stored));
+        }
+        assertTrue(hasher.needsRehash(prefix + "x$AAAA$AAAA"));
+        assertFalse(hasher.verify("secret".toCharArray(), null));
+        assertFalse(hasher.verify(null, hasher.hash("secret".toCharArray())));
+
+        // a hasher may not write counts that verify would refuse
+        for (int iterations : new int[]{0, Pbkdf2CredentialHasher.MAX_ITERATIONS + 1}) {
+            try {
+                new Pbkdf2CredentialHasher(iterations);
+                fail("accepted " + iterations + " iterations");
+            } catch (IllegalArgumentException expected) {
+                // ok
+            }
+        }
+    }
+
+    /**
+     * UT-07-TC06: Auto-tuning
+     */
+    @Test(timeout = 30000)
+    public void testTuning() {
+        int quick = Pbkdf2CredentialHasher.tuneIterations(5);
+        int slow = Pbkdf2CredentialHasher.tuneIterations(200);
+
+        assertTrue(quick >= Pbkdf2CredentialHasher.MIN_ITERATIONS);
+        assertTrue(slow <= Pbkdf2CredentialHasher.MAX_ITERATIONS);
+        assertTrue(slow >= quick);
+        assertEquals(0, slow % 1000);
+    }
+}
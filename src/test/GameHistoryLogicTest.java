@@ -0,0 +1,404 @@
+package test;
+
+import minesweeper.controller.GameHistoryLogic;
+import minesweeper.controller.HistoryColumnStore;
+import minesweeper.model.GameHistory;
+import minesweeper.model.GameSession;
+import org.junit.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * UT-03: Unit Test for GameHistoryLogic persistence
+ *
+ * Each test works on its own history.json / history.journal pair in a temp
+ * directory; the instance is created through the private Path constructor.
+ *
+ * Test Case Overview – GameHistoryLogicTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-03-TC01   | testSaveAndReload              | Saved games come back in order with all fields      |
+ * | UT-03-TC02   | testSaveAppendsToJournal       | Saving does not rewrite history.json                |
+ * | UT-03-TC03   | testCompactionKeepsEveryGame   | Compaction folds the journal into the snapshot      |
+ * | UT-03-TC04   | testCrashBeforeJournalReset    | Stale journal after compaction is not replayed      |
+ * | UT-03-TC05   | testTornJournalTail            | A half-written last line is dropped on reload       |
+ * | UT-03-TC06   | testCachedHistoryFollowsSaves  | getAllHistory sees saves without re-reading files   |
+ * | UT-03-TC07   | testExternalChangeReloads      | A change by another writer is picked up on read     |
+ * | UT-03-TC08   | testSnapshotFormats            | Escapes, unknown keys, nulls and timestamp forms    |
+ * | UT-03-TC09   | testLargeSnapshot              | 300k games in history.json load quickly             |
+ * | UT-03-TC10   | testBinaryRoundTrip            | JSON -> binary -> JSON keeps every field            |
+ * | UT-03-TC11   | testBinarySnapshotMode         | Saves and compaction work on a binary snapshot      |
+ * | UT-03-TC12   | testBinaryColumnScan           | Column accessors and totals of a loaded store       |
+ */
+public class GameHistoryLogicTest {
+
+    private Path tempDir;
+    private Path historyFile;
+    private Path journalFile;
+
+    @Before
+    public void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("minesweeper_history_test_");
+        historyFile = tempDir.resolve("history.json");
+        journalFile = tempDir.resolve("history.journal");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * UT-03-TC01: Save and reload
+     */
+    @Test
+    public void testSaveAndReload() throws Exception {
+        GameHistoryLogic logic = newLogic();
+        logic.saveHistoryForUser("alice", game("alice", 120, true));
+        logic.saveHistoryForUser("bob", game("bob", -5, false));
+
+        List<GameHistory> loaded = newLogic().loadHistoryFromJSON();
+
+        assertEquals(2, loaded.size());
+        assertEquals("alice", loaded.get(0).getUsername());
+        assertEquals(120, loaded.get(0).getFinalScore());
+        assertTrue(loaded.get(0).isCoopWin());
+        assertEquals("bob", loaded.get(1).getUsername());
+        assertEquals(-5, loaded.get(1).getFinalScore());
+        assertEquals(GameSession.Difficulty.MEDIUM, loaded.get(1).getDifficulty());
+    }
+
+    /**
+     * UT-03-TC02: Saving appends instead of rewriting
+     */
+    @Test
+    public void testSaveAppendsToJournal() throws Exception {
+        GameHistoryLogic logic = newLogic();
+        logic.saveHistoryForUser("alice", game("alice", 1, true));
+        long journalSize = Files.size(journalFile);
+
+        logic.saveHistoryForUser("alice", game("alice", 2, true));
+
+        assertFalse("snapshot is only written by compaction", Files.exists(historyFile));
+        assertTrue(Files.size(journalFile) > journalSize);
+    }
+
+    /**
+     * UT-03-TC03: Compaction keeps every game
+     */
+    @Test
+    public void testCompactionKeepsEveryGame() throws Exception {
+        GameHistoryLogic logic = newLogic();
+        for (int i = 0; i < 700; i++) {
+            logic.saveHistoryForUser(i % 2 == 0 ? "alice" : "bob", game("x", i, false));
+        }
+
+        assertTrue("journal should have been compacted", Files.exists(historyFile));
+        assertTrue(Files.readAllLines(journalFile).size() < 700);
+
+        logic.compactHistory();
+        assertEquals("only the header is left", 1, Files.readAllLines(journalFile).size());
+
+        List<GameHistory> loaded = newLogic().loadHistoryFromJSON();
+        assertEquals(700, loaded.size());
+        long total = loaded.stream().mapToLong(GameHistory::getFinalScore).sum();
+        assertEquals(699L * 700 / 2, total);
+    }
+
+    /**
+     * UT-03-TC04: Crash between snapshot write and journal reset
+     */
+    @Test
+    public void testCrashBeforeJournalReset() throws Exception {
+        GameHistoryLogic logic = newLogic();
+        logic.saveHistoryForUser("alice", game("alice", 10, true));
+        logic.saveHistoryForUser("alice", game("alice", 20, true));
+        byte[] journalBeforeCompaction = Files.readAllBytes(journalFile);
+
+        logic.compactHistory();
+        // put the old journal back as if the reset never reached the disk
+        Files.write(journalFile, journalBeforeCompaction);
+
+        assertEquals(2, newLogic().loadHistoryFromJSON().size());
+
+        GameHistoryLogic restarted = newLogic();
+        restarted.saveHistoryForUser("alice", game("alice", 30, true));
+        restarted.compactHistory();
+        assertEquals(3, newLogic().loadHistoryFromJSON().size());
+    }
+
+    /**
+     * UT-03-TC05: Torn journal tail
+     */
+    @Test
+    public void testTornJournalTail() throws Exception {
+        GameHistoryLogic logic = newLogic();
+        logic.saveHistoryForUser("alice", game("alice", 10, true));
+        Files.write(journalFile, "{\"username\":\"alice\",\"difficu".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        GameHistoryLogic restarted = newLogic();
+        assertEquals(1, restarted.loadHistoryFromJSON().size());
+
+        restarted.saveHistoryForUser("alice", game("alice", 20, true));
+        List<GameHistory> loaded = newLogic().loadHistoryFromJSON();
+        assertEquals(2, loaded.size());
+        assertEquals(20, loaded.get(1).getFinalScore());
+    }
+
+    /**
+     * UT-03-TC06: Cache is updated by saves
+     */
+    @Test
+    public void testCachedHistoryFollowsSaves() throws Exception {
+        GameHistoryLogic logic = newLogic();
+        logic.saveHistoryForUser("alice", game("alice", 1, true));
+
+        List<GameHistory> before = logic.getAllHistory();
+        logic.saveHistoryForUser("bob", game("bob", 2, false));
+        List<GameHistory> after = logic.getAllHistory();
+
+        assertEquals("earlier lists are snapshots", 1, before.size());
+        assertEquals(2, after.size());
+        assertEquals("bob", after.get(1).getUsername());
+        assertSame(after.get(0), before.get(0));
+        try {
+            after.add(game("x", 0, true));
+            fail("history list must be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // ok
+        }
+    }
+
+    /**
+     * UT-03-TC07: Changes by another writer are detected
+     */
+    @Test
+    public void testExternalChangeReloads() throws Exception {
+        GameHistoryLogic logic = newLogic();
+        logic.saveHistoryForUser("alice", game("alice", 1, true));
+        assertEquals(1, logic.getAllHistory().size());
+
+        newLogic().saveHistoryForUser("bob", game("bob", 2, false));
+        expireStatThrottle(logic);
+
+        List<GameHistory> reloaded = logic.getAllHistory();
+        assertEquals(2, reloaded.size());
+        assertEquals("bob", reloaded.get(1).getUsername());
+    }
+
+    /**
+     * UT-03-TC08: Snapshot parsing edge cases
+     */
+    @Test
+    public void testSnapshotFormats() throws Exception {
+        String json = "{ \"version\": [1, {\"x\": null}], \"users\": {\n"
+                + "  \"j\\u00fcrgen \\\"j\\\"\": {\"meta\": true, \"history\": [\n"
+                + "    {\"difficulty\":\"HARD\",\"finalScore\":-12,\"coopWin\":true,\"duration\":\"02:05\",\n"
+                + "     \"dateTime\":\"2025-12-21T01:32:50.390645300\",\"player1\":\"a\\/b\",\"player2\":null,\n"
+                + "     \"extra\": {\"nested\": [1.5e3, false]}},\n"
+                + "    {\"difficulty\":\"EASY\",\"finalScore\":7,\"coopWin\":false,\"duration\":\"00:10\",\n"
+                + "     \"dateTime\":\"2025-12-17T09:00\",\"player1\":\"p\",\"player2\":\"q\"}\n"
+                + "  ]},\n"
+                + "  \"empty\": {\"history\": []}\n"
+                + "}, \"journalSeq\": 0 }";
+        Files.write(historyFile, json.getBytes(StandardCharsets.UTF_8));
+
+        List<GameHistory> loaded = newLogic().loadHistoryFromJSON();
+
+        assertEquals(2, loaded.size());
+        GameHistory first = loaded.get(0);
+        assertEquals("j\u00fcrgen \"j\"", first.getUsername());
+        assertEquals(GameSession.Difficulty.HARD, first.getDifficulty());
+        assertEquals(-12, first.getFinalScore());
+        assertTrue(first.isCoopWin());
+        assertEquals("a/b", first.getPlayer1());
+        assertNull(first.getPlayer2());
+        assertEquals(LocalDateTime.parse("2025-12-21T01:32:50.390645300"), first.getDateTime());
+        assertEquals(LocalDateTime.of(2025, 12, 17, 9, 0), loaded.get(1).getDateTime());
+    }
+
+    /**
+     * UT-03-TC09: Large snapshot
+     */
+    @Test(timeout = 20000)
+    public void testLargeSnapshot() throws Exception {
+        StringBuilder json = new StringBuilder("{\"users\":{");
+        for (int u = 0; u < 30; u++) {
+            if (u > 0) json.append(',');
+            json.append("\"user").append(u).append("\":{\"history\":[");
+            for (int i = 0; i < 10_000; i++) {
+                if (i > 0) json.append(',');
+                json.append("{\"difficulty\":\"MEDIUM\",\"duration\":\"03:33\",\"dateTime\":\"2025-12-20T08:")
+                        .append(String.format("%02d", i % 60)).append(":00.1\",\"finalScore\":").append(i)
+                        .append(",\"player1\":\"a\",\"player2\":\"b\",\"coopWin\":true}");
+            }
+            json.append("]}");
+        }
+        json.append("}}");
+        Files.write(historyFile, json.toString().getBytes(StandardCharsets.UTF_8));
+
+        List<GameHistory> loaded = newLogic().loadHistoryFromJSON();
+
+        assertEquals(300_000, loaded.size());
+        assertEquals(9_999, loaded.get(299_999).getFinalScore());
+        assertEquals(100_000_000, loaded.get(0).getDateTime().getNano());
+    }
+
+    /**
+     * UT-03-TC10: Binary export / import
+     */
+    @Test
+    public void testBinaryRoundTrip() throws Exception {
+        GameHistoryLogic logic = newLogic();
+        logic.saveHistoryForUser("alice", game("alice", 10, true));
+        logic.saveHistoryForUser("b\u00f6b", new GameHistory(GameSession.Difficulty.HARD, "b\u00f6b", "x", null,
+                -3, false, "odd", LocalDateTime.of(2025, 12, 21, 1, 32, 50, 390645300)));
+        logic.saveHistoryForUser("alice", new GameHistory(GameSession.Difficulty.EASY, "alice", "y", "z",
+                0, false, null, LocalDateTime.of(2024, 2, 29, 23, 59)));
+        List<GameHistory> before = logic.getAllHistory();
+
+        Path exported = tempDir.resolve("export.bin");
+        logic.exportBinaryHistory(exported);
+
+        GameHistoryLogic other = newLogicAt(tempDir.resolve("other").resolve("history.json"));
+        other.importBinaryHistory(exported);
+        List<GameHistory> after = other.getAllHistory();
+
+        assertFalse(other.isBinarySnapshot());
+        assertEquals(before.size(), after.size());
+
+        // history.json groups games by user, so only compare per-user order
+        Comparator<GameHistory> byUser = Comparator.comparing(GameHistory::getUsername);
+        List<GameHistory> expected = before.stream().sorted(byUser).toList();
+        List<GameHistory> actual = after.stream().sorted(byUser).toList();
+        for (int i = 0; i < expected.size(); i++) {
+            assertSameGame(expected.get(i), actual.get(i));
+        }
+    }
+
+    /**
+     * UT-03-TC11: Binary snapshot mode
+     */
+    @Test
+    public void testBinarySnapshotMode() throws Exception {
+        GameHistoryLogic logic = newLogic();
+        for (int i = 0; i < 10; i++) logic.saveHistoryForUser("alice", game("alice", i, true));
+
+        logic.setBinarySnapshot(true);
+        assertTrue(logic.isBinarySnapshot());
+        assertEquals("only the header is left", 1, Files.readAllLines(journalFile).size());
+
+        for (int i = 10; i < 20; i++) logic.saveHistoryForUser("bob", game("bob", i, false));
+        assertEquals(20, newLogic().loadHistoryFromJSON().size());
+
+        logic.compactHistory();
+        assertEquals(1, Files.readAllLines(journalFile).size());
+        assertEquals(20, newLogic().getAllHistory().size());
+
+        logic.setBinarySnapshot(false);
+        assertFalse(logic.isBinarySnapshot());
+        List<GameHistory> loaded = newLogic().getAllHistory();
+        assertEquals(20, loaded.size());
+        assertEquals(190L, loaded.stream().mapToLong(GameHistory::getFinalScore).sum());
+    }
+
+    /**
+     * UT-03-TC12: Column scans over a loaded store
+     */
+    @Test
+    public void testBinaryColumnScan() throws Exception {
+        List<GameHistory> games = new java.util.ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            games.add(new GameHistory(GameSession.Difficulty.values()[i % 3], "u" + (i % 7), "p", "q",
+                    i % 100, i % 2 == 0, String.format("%02d:%02d", i % 90, i % 60),
+                    LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(i)));
+        }
+        Path file = tempDir.resolve("scan.bin");
+        HistoryColumnStore.write(file, games, 42, false);
+
+        HistoryColumnStore store = HistoryColumnStore.open(file);
+        assertEquals(100_000, store.rows());
+        assertEquals(42, store.journalSeq());
+
+        long scoreSum = 0;
+        int wins = 0;
+        for (int i = 0; i < store.rows(); i++) {
+            scoreSum += store.score(i);
+            if (store.won(i)) wins++;
+        }
+        assertEquals(games.stream().mapToLong(GameHistory::getFinalScore).sum(), scoreSum);
+        assertEquals(50_000, wins);
+        assertEquals("u3", store.username(3));
+        assertEquals(3 * 60 + 3, store.durationSeconds(3));
+        assertSameGame(games.get(99_999), store.get(99_999));
+
+        HistoryColumnStore.Totals totals = store.totals("u3", GameSession.Difficulty.MEDIUM);
+        List<GameHistory> expected = games.stream()
+                .filter(h -> h.getUsername().equals("u3") && h.getDifficulty() == GameSession.Difficulty.MEDIUM)
+                .toList();
+        assertEquals(expected.size(), totals.getGames());
+        assertEquals(expected.stream().filter(GameHistory::isCoopWin).count(), totals.getWins());
+        assertEquals(expected.stream().mapToLong(GameHistory::getFinalScore).sum(), totals.getScoreSum());
+        assertEquals(Integer.valueOf(99), totals.getBestScore());
+        assertEquals(0, store.totals("nobody", null).getGames());
+        assertNull(store.totals("nobody", null).getBestScore());
+        assertEquals(100_000, store.totals(null, null).getGames());
+        assertArrayEquals(new int[]{33_334, 33_333, 33_333}, store.countByDifficulty());
+
+        // the store holds no handle on the file
+        Files.delete(file);
+        assertEquals(100_000, store.totals(null, null).getGames());
+    }
+
+    // ==================== HELPERS ====================
+
+    private static void assertSameGame(GameHistory expected, GameHistory actual) {
+        assertEquals(expected.getUsername(), actual.getUsername());
+        assertEquals(expected.getDifficulty(), actual.getDifficulty());
+        assertEquals(expected.getPlayer1(), actual.getPlayer1());
+        assertEquals(expected.getPlayer2(), actual.getPlayer2());
+        assertEquals(expected.getFinalScore(), actual.getFinalScore());
+        assertEquals(expected.isCoopWin(), actual.isCoopWin());
+        assertEquals(expected.getDuration(), actual.getDuration());
+        assertEquals(expected.getDateTime(), actual.getDateTime());
+    }
+
+    private static void expireStatThrottle(GameHistoryLogic logic) throws Exception {
+        Field lastStatCheck = GameHistoryLogic.class.getDeclaredField("lastStatCheck");
+        lastStatCheck.setAccessible(true);
+        lastStatCheck.setLong(logic, 0L);
+    }
+
+    private GameHistoryLogic newLogic() throws Exception {
+        return newLogicAt(historyFile);
+    }
+
+    private static GameHistoryLogic newLogicAt(Path file) throws Exception {
+        Files.createDirectories(file.getParent());
+        Constructor<GameHistoryLogic> constructor = GameHistoryLogic.class.getDeclaredConstructor(Path.class);
+        constructor.setAccessible(true);
+        GameHistoryLogic logic = constructor.newInstance(file);
+        logic.setFsyncOnCommit(false);
+        return logic;
+    }
+
+    private static GameHistory game(String player1, int score, boolean win) {
+        return new GameHistory(win ? GameSession.Difficulty.EASY : GameSession.Difficulty.MEDIUM,
+                player1, player1, "guest", score, win, "01:30", LocalDateTime.of(2025, 1, 1, 12, 0));
+    }
+}
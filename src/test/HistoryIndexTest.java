@@ -0,0 +1,155 @@
+package test;
+
+import minesweeper.model.GameHistory;
+import minesweeper.model.GameSession;
+import minesweeper.model.HistoryFilterStrategy.*;
+import org.junit.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * UT-04: Unit Test for HistoryIndex
+ *
+ * Every indexed query must return exactly what the original scan
+ * (filter with matches(), then a stable sort with comparator()) returns.
+ *
+ * Test Case Overview – HistoryIndexTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-04-TC01   | testQueriesMatchScan           | All filter / sort combinations agree with a scan    |
+ * | UT-04-TC02   | testAppendAfterQuery           | Records added after a query are indexed too         |
+ * | UT-04-TC03   | testUnknownFilterFallsBack     | Custom filters make the index return null           |
+ * | UT-04-TC04   | testMillionRecords             | Filter + sort on 1M records stays fast              |
+ */
+public class HistoryIndexTest {
+
+    private static final String[] USERS = {"ALL", "alice", "BOB", "carol", "nobody"};
+    private static final String[] DIFFICULTIES = {"ALL", "EASY", "medium", "HARD", "INSANE"};
+    private static final String[] RESULTS = {"ALL", "WIN", "LOSE"};
+
+    /**
+     * UT-04-TC01: Index agrees with scan
+     */
+    @Test
+    public void testQueriesMatchScan() {
+        List<GameHistory> games = randomGames(2000, 1L);
+        HistoryIndex index = new HistoryIndex();
+        games.forEach(index::add);
+
+        assertAllQueriesMatch(games, index);
+    }
+
+    /**
+     * UT-04-TC02: Appending after a query
+     */
+    @Test
+    public void testAppendAfterQuery() {
+        List<GameHistory> games = randomGames(600, 2L);
+        HistoryIndex index = new HistoryIndex();
+        for (int i = 0; i < 300; i++) index.add(games.get(i));
+        index.query(null, new ScoreDescSortStrategy());
+
+        for (int i = 300; i < 600; i++) index.add(games.get(i));
+
+        assertEquals(600, index.size());
+        assertAllQueriesMatch(games, index);
+    }
+
+    /**
+     * UT-04-TC03: Unindexed filter
+     */
+    @Test
+    public void testUnknownFilterFallsBack() {
+        HistoryIndex index = new HistoryIndex();
+        randomGames(10, 3L).forEach(index::add);
+
+        HistoryFilterStrategy custom = h -> h.getFinalScore() > 0;
+        assertNull(index.query(custom, null));
+        assertNull(index.query(new CombinedFilterStrategy(List.of(new UserFilterStrategy("alice"), custom)), null));
+        assertEquals(10, index.query(null, null).length);
+    }
+
+    /**
+     * UT-04-TC04: Large history
+     */
+    @Test(timeout = 20000)
+    public void testMillionRecords() {
+        List<GameHistory> games = randomGames(1_000_000, 4L);
+        HistoryIndex index = new HistoryIndex();
+        games.forEach(index::add);
+
+        HistoryFilterStrategy filter = combined("alice", "HARD", "WIN");
+        int[] ids = index.query(filter, new ScoreDescSortStrategy());
+
+        long expected = games.stream().filter(filter::matches).count();
+        assertEquals(expected, ids.length);
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(games.get(ids[i - 1]).getFinalScore() >= games.get(ids[i]).getFinalScore());
+        }
+        assertEquals(1_000_000, index.query(null, new ScoreAscSortStrategy()).length);
+    }
+
+    // ==================== HELPERS ====================
+
+    private static void assertAllQueriesMatch(List<GameHistory> games, HistoryIndex index) {
+        HistorySortStrategy[] sorts = {null, new ScoreAscSortStrategy(), new ScoreDescSortStrategy()};
+
+        for (String user : USERS) {
+            for (String diff : DIFFICULTIES) {
+                for (String result : RESULTS) {
+                    for (HistorySortStrategy sort : sorts) {
+                        HistoryFilterStrategy filter = combined(user, diff, result);
+                        String label = user + "/" + diff + "/" + result + "/" + sort;
+
+                        int[] ids = index.query(filter, sort);
+                        assertNotNull(label, ids);
+
+                        List<GameHistory> fromIndex = new ArrayList<>();
+                        for (int id : ids) fromIndex.add(games.get(id));
+                        assertEquals(label, scan(games, filter, sort), fromIndex);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<GameHistory> scan(List<GameHistory> games, HistoryFilterStrategy filter,
+                                          HistorySortStrategy sort) {
+        var stream = games.stream().filter(filter::matches);
+        return sort == null ? stream.toList() : stream.sorted(sort.comparator()).toList();
+    }
+
+    private static HistoryFilterStrategy combined(String user, String diff, String result) {
+        return new CombinedFilterStrategy(List.of(
+                new UserFilterStrategy(user),
+                new WinLoseFilterStrategy(result),
+                new DifficultyFilterStrategy(diff)
+        ));
+    }
+
+    private static List<GameHistory> randomGames(int count, long seed) {
+        Random random = new Random(seed);
+        String[] names = {"alice", "Alice", "bob", "carol", "dave"};
+        GameSession.Difficulty[] difficulties = GameSession.Difficulty.values();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        List<GameHistory> games = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            games.add(new GameHistory(
+                    difficulties[random.nextInt(difficulties.length)],
+                    names[random.nextInt(names.length)],
+                    "p1", "p2",
+                    random.nextInt(41) - 20, // narrow range so there are many ties
+                    random.nextBoolean(),
+                    "00:30",
+                    start.plusMinutes(i)));
+        }
+        return games;
+    }
+}
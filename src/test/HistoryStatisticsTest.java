@@ -0,0 +1,140 @@
+package test;
+
+import minesweeper.model.GameHistory;
+import minesweeper.model.GameSession;
+import minesweeper.model.HistoryFilterStrategy.*;
+import minesweeper.model.HistoryStatistics;
+import org.junit.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * UT-05: Unit Test for HistoryStatistics
+ *
+ * The running aggregates must give the same numbers as computing them from
+ * the filtered list of games directly.
+ *
+ * Test Case Overview – HistoryStatisticsTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-05-TC01   | testSummaryMatchesRecords      | Totals, averages, best and top 3 match a scan       |
+ * | UT-05-TC02   | testEmptySelection             | No matching games gives an empty summary            |
+ * | UT-05-TC03   | testLastPlayedAndDuration      | Latest game and mm:ss / seconds durations           |
+ */
+public class HistoryStatisticsTest {
+
+    /**
+     * UT-05-TC01: Summary agrees with the records
+     */
+    @Test
+    public void testSummaryMatchesRecords() {
+        Random random = new Random(5L);
+        String[] names = {"alice", "Alice", "bob", "carol"};
+        GameSession.Difficulty[] difficulties = GameSession.Difficulty.values();
+
+        List<GameHistory> games = new ArrayList<>();
+        HistoryStatistics stats = new HistoryStatistics();
+        for (int i = 0; i < 3000; i++) {
+            GameHistory h = game(names[random.nextInt(names.length)],
+                    difficulties[random.nextInt(difficulties.length)],
+                    random.nextInt(30), random.nextBoolean(),
+                    String.format("%02d:%02d", random.nextInt(10), random.nextInt(60)), i);
+            games.add(h);
+            stats.add(h);
+        }
+
+        for (String user : new String[]{"ALL", "alice", "bob"}) {
+            for (String diff : new String[]{"ALL", "EASY", "HARD"}) {
+                for (String result : new String[]{"ALL", "WIN", "LOSE"}) {
+                    HistoryFilterStrategy filter = new CombinedFilterStrategy(List.of(
+                            new UserFilterStrategy(user),
+                            new WinLoseFilterStrategy(result),
+                            new DifficultyFilterStrategy(diff)));
+                    assertSummary(user + "/" + diff + "/" + result,
+                            games.stream().filter(filter::matches).toList(), stats.summarize(filter));
+                }
+            }
+        }
+
+        HistoryFilterStrategy exactUser = h -> "Alice".equals(h.getUsername());
+        assertSummary("exact Alice", games.stream().filter(exactUser::matches).toList(),
+                stats.summarize(null, exactUser));
+    }
+
+    /**
+     * UT-05-TC02: Empty selection
+     */
+    @Test
+    public void testEmptySelection() {
+        HistoryStatistics stats = new HistoryStatistics();
+        stats.add(game("alice", GameSession.Difficulty.EASY, 10, true, "01:00", 0));
+
+        HistoryStatistics.Summary s = stats.summarize(new UserFilterStrategy("nobody"));
+        assertEquals(0, s.getTotal());
+        assertNull(s.getBestScore());
+        assertNull(s.getLastPlayed());
+        assertNull(s.getMostPlayedDifficulty());
+        assertTrue(s.getTop().isEmpty());
+        assertEquals(-1, s.getAverageDurationSeconds());
+    }
+
+    /**
+     * UT-05-TC03: Last played and durations
+     */
+    @Test
+    public void testLastPlayedAndDuration() {
+        HistoryStatistics stats = new HistoryStatistics();
+        GameHistory newest = game("bob", GameSession.Difficulty.HARD, 1, false, "90", 50);
+        stats.add(game("bob", GameSession.Difficulty.EASY, 1, true, "01:30", 10));
+        stats.add(newest);
+        stats.add(game("bob", GameSession.Difficulty.EASY, 1, true, "n/a", 20));
+
+        HistoryStatistics.Summary s = stats.summarize();
+        assertSame(newest, s.getLastPlayed());
+        assertEquals(90, s.getAverageDurationSeconds());
+        assertEquals(GameSession.Difficulty.EASY, s.getMostPlayedDifficulty());
+        assertTrue(stats.getUsernames().contains("bob"));
+    }
+
+    // ==================== HELPERS ====================
+
+    private static void assertSummary(String label, List<GameHistory> expected, HistoryStatistics.Summary s) {
+        assertEquals(label, expected.size(), s.getTotal());
+        if (expected.isEmpty()) return;
+
+        long wins = expected.stream().filter(GameHistory::isCoopWin).count();
+        assertEquals(label, wins, s.getWins());
+        assertEquals(label, expected.size() - wins, s.getLosses());
+
+        int best = expected.stream().mapToInt(GameHistory::getFinalScore).max().getAsInt();
+        assertEquals(label, Integer.valueOf(best), s.getBestScore());
+        double avg = expected.stream().mapToInt(GameHistory::getFinalScore).average().getAsDouble();
+        assertEquals(label, avg, s.getAverageScore(), 1e-9);
+
+        for (GameSession.Difficulty d : GameSession.Difficulty.values()) {
+            assertEquals(label, expected.stream().filter(h -> h.getDifficulty() == d).count(), s.getCount(d));
+        }
+
+        List<GameHistory> top3 = expected.stream()
+                .sorted((a, b) -> Integer.compare(b.getFinalScore(), a.getFinalScore()))
+                .limit(3)
+                .toList();
+        assertEquals(label, top3, s.getTop());
+
+        GameHistory latest = expected.stream().max(Comparator.comparing(GameHistory::getDateTime)).get();
+        assertEquals(label, latest.getDateTime(), s.getLastPlayed().getDateTime());
+    }
+
+    private static GameHistory game(String user, GameSession.Difficulty difficulty, int score,
+                                    boolean win, String duration, int minute) {
+        return new GameHistory(difficulty, user, "p1", "p2", score, win, duration,
+                LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(minute));
+    }
+}
@@ -2,6 +2,7 @@ package test;
 
 import minesweeper.controller.LoginController;
 import minesweeper.model.User;
+import minesweeper.model.security.Pbkdf2CredentialHasher;
 import minesweeper.view.LoginView;
 import org.junit.*;
 
@@ -27,6 +28,10 @@ public class LoginControllerTest {
     private Path testDataFile;
     private static int testCounter = 0;
 
+    // Verification reads the cost from the stored hash, so any instance works
+    private static final Pbkdf2CredentialHasher VERIFIER =
+            new Pbkdf2CredentialHasher(Pbkdf2CredentialHasher.MIN_ITERATIONS);
+
     @BeforeClass
     public static void setUpClass() {
         System.out.println("========================================");
@@ -102,7 +107,7 @@ public class LoginControllerTest {
 
         User retrievedUser = users.get(0);
         assertEquals("Username should match", username, retrievedUser.getUsername());
-        assertEquals("Password should match", new String(password), retrievedUser.getPassword());
+        assertPasswordMatches(password, retrievedUser);
         assertEquals("Security answer should match", securityAnswer, retrievedUser.getSecurityAnswer());
         assertEquals("Security question should match", securityQuestion, retrievedUser.getSecurityQuestion());
     }
@@ -125,7 +130,7 @@ public class LoginControllerTest {
         // Assert
         assertNotNull("User should be found", foundUser);
         assertEquals("Username should match", username, foundUser.getUsername());
-        assertEquals("Password should match", new String(password), foundUser.getPassword());
+        assertPasswordMatches(password, foundUser);
         assertEquals("Security answer should match", securityAnswer, foundUser.getSecurityAnswer());
         assertEquals("Security question should match", securityQuestion, foundUser.getSecurityQuestion());
     }
@@ -163,7 +168,8 @@ public class LoginControllerTest {
         List<User> users = (List<User>) loadUsersMethod.invoke(controller);
 
         assertEquals("Should still have only one user", 1, users.size());
-        assertEquals("Original password should be preserved", "pass123", users.get(0).getPassword());
+        assertTrue("Original password should be preserved",
+                VERIFIER.verify("pass123".toCharArray(), users.get(0).getPassword()));
     }
 
     @Test
@@ -431,7 +437,7 @@ public class LoginControllerTest {
 
         assertNotNull("User with special characters should be stored", user);
         assertEquals("Username should match", username, user.getUsername());
-        assertEquals("Password should match", new String(password), user.getPassword());
+        assertPasswordMatches(password, user);
     }
 
     @Test
@@ -451,6 +457,15 @@ public class LoginControllerTest {
         assertNotNull("User should persist across controller instances", user);
     }
 
+    // ========================================
+    // HELPER: Password assertion
+    // ========================================
+
+    private static void assertPasswordMatches(char[] password, User user) {
+        assertNotEquals("Password should not be stored in plain text", new String(password), user.getPassword());
+        assertTrue("Password should match", VERIFIER.verify(password, user.getPassword()));
+    }
+
     // ========================================
     // HELPER: Mock LoginView
     // ========================================
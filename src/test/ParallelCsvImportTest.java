@@ -0,0 +1,158 @@
+package test;
+
+import minesweeper.model.Question;
+import minesweeper.model.QuestionBank;
+import org.junit.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static test.QuestionFixtures.*;
+
+/**
+ * UT-13: Unit Test for the parallel CSV import of QuestionBank
+ *
+ * Test Case Overview – ParallelCsvImportTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-13-TC01   | testSameAsSequential           | Random large files: same questions, errors, order   |
+ * | UT-13-TC02   | testDuplicateIdsAcrossChunks   | A repeated ID is reported wherever it is            |
+ * | UT-13-TC03   | testFileLevelErrors            | Empty file, bad header, no valid row                |
+ * | UT-13-TC04   | testLoadPicksEitherParser      | load() gives the same bank for small and large files|
+ */
+public class ParallelCsvImportTest {
+
+    /**
+     * UT-13-TC01: Identical to the sequential parser
+     */
+    @Test(timeout = 60000)
+    public void testSameAsSequential() throws Exception {
+        Random random = new Random(13L);
+        for (int round = 0; round < 4; round++) {
+            StringBuilder csv = new StringBuilder(round == 0 ? "\uFEFF" : "").append(CSV_HEADER);
+            int rows = 20_000 + random.nextInt(20_000); // a few chunks of at least 256K chars
+            for (int i = 0; i < rows; i++) {
+                csv.append(row(random, i));
+            }
+
+            QuestionBank sequential = load(csv);
+            QuestionBank parallel = loadParallel(csv);
+
+            assertEquals(describe(sequential), describe(parallel));
+            assertEquals(sequential.getParseErrors(), parallel.getParseErrors());
+            assertFalse(parallel.getParseErrors().isEmpty());
+        }
+    }
+
+    /**
+     * UT-13-TC02: Duplicate IDs
+     */
+    @Test
+    public void testDuplicateIdsAcrossChunks() throws Exception {
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int id = 1; id <= 30_000; id++) {
+            csv.append(id).append(",Question number ").append(id).append(" of the import test,1,a,b,c,d,A\n");
+        }
+        csv.append("17,Late copy of 17,2,a,b,c,d,B\n");
+        csv.append("0,Invalid row does not claim an ID,2,a,b,c,d,B\n");
+        csv.append("29999,Another late copy,2,a,b,c,d,B\n");
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            QuestionBank bank = parallel ? loadParallel(csv) : load(csv);
+            assertEquals(30_000, bank.getQuestionCount());
+            assertEquals("Question number 17 of the import test", bank.getQuestionById(17).getText());
+            assertEquals(List.of(
+                    "Row 30002: Duplicate ID 17, already used in row 18.",
+                    "Row 30003: ID must be a positive integer, found '0'.",
+                    "Row 30004: Duplicate ID 29999, already used in row 30000."), bank.getParseErrors());
+        }
+    }
+
+    /**
+     * UT-13-TC03: File-level errors
+     */
+    @Test
+    public void testFileLevelErrors() {
+        assertLoadFails("", "CSV data is empty.");
+        assertLoadFails("ID,Question\n1,Q\n", "Invalid header count");
+        assertLoadFails(CSV_HEADER + "x,Q,1,a,b,c,d,A\n\n", "No valid questions found in CSV data.");
+    }
+
+    /**
+     * UT-13-TC04: load() is transparent
+     */
+    @Test(timeout = 60000)
+    public void testLoadPicksEitherParser() throws Exception {
+        Random random = new Random(24L);
+        for (int rows : new int[]{10, 40_000}) {
+            StringBuilder csv = new StringBuilder(CSV_HEADER);
+            for (int i = 0; i < rows; i++) {
+                csv.append(row(random, i));
+            }
+
+            QuestionBank bank = new QuestionBank();
+            bank.load(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+            QuestionBank sequential = load(csv);
+
+            assertEquals(describe(sequential), describe(bank));
+            assertEquals(sequential.getParseErrors(), bank.getParseErrors());
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    private static String row(Random random, int i) {
+        int id = 1 + random.nextInt(50_000); // some IDs repeat
+        switch (random.nextInt(12)) {
+            case 0:
+                return "\n";
+            case 1:
+                return id + ",\"Multi\nline, \"\"quoted\"\" text\",2,a,b,c,d,C\r\n";
+            case 2:
+                return id + ",Missing columns,1,a,b\n";
+            case 3:
+                return id + ",Bad difficulty,9,a,b,c,d,A\n";
+            case 4:
+                return "-" + id + ",Negative,1,a,b,c,d,A\n";
+            case 5:
+                return id + ",Stray \"quote,3,a,b,c,d,E\n";
+            default:
+                return id + ",Question " + i + " text,"
+                        + (1 + random.nextInt(4)) + ",\"opt, a\",b,c,d," + "ABCDabcd".charAt(random.nextInt(8)) + "\n";
+        }
+    }
+
+    private static String describe(QuestionBank bank) {
+        StringBuilder sb = new StringBuilder();
+        for (Question q : bank.getAllQuestions()) {
+            sb.append(q.getId()).append('|').append(q.getText()).append('|').append(q.getDifficulty())
+                    .append('|').append(q.getOptionA()).append('|').append(q.getCorrectOption()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static QuestionBank loadParallel(CharSequence csv) throws QuestionBank.CSVParseException {
+        QuestionBank bank = new QuestionBank();
+        bank.loadFromInputStreamParallel(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        return bank;
+    }
+
+    private static void assertLoadFails(String csv, String message) {
+        for (boolean parallel : new boolean[]{false, true}) {
+            try {
+                if (parallel) {
+                    loadParallel(csv);
+                } else {
+                    load(csv);
+                }
+                fail("Expected CSVParseException");
+            } catch (QuestionBank.CSVParseException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith(message));
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package test;
+
+import minesweeper.model.Question;
+import minesweeper.model.QuestionBank;
+import minesweeper.model.QuestionDifficulty;
+import org.junit.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static test.QuestionFixtures.*;
+
+/**
+ * UT-08: Unit Test for the per-difficulty index of QuestionBank
+ *
+ * Test Case Overview – QuestionBankIndexTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-08-TC01   | testIndexFollowsCrud           | Random add / update / delete keeps buckets in sync  |
+ * | UT-08-TC02   | testRandomQuestionCoversBucket | Every question of the difficulty can be drawn       |
+ * | UT-08-TC03   | testEmptyDifficulty            | No question of a difficulty gives null              |
+ * | UT-08-TC04   | testReloadRebuildsIndex        | Loading a CSV replaces the index                    |
+ */
+public class QuestionBankIndexTest {
+
+    /**
+     * UT-08-TC01: Index follows add / update / delete
+     */
+    @Test
+    public void testIndexFollowsCrud() {
+        Random random = new Random(8L);
+        QuestionBank bank = new QuestionBank();
+        QuestionDifficulty[] difficulties = QuestionDifficulty.values();
+
+        for (int step = 0; step < 5000; step++) {
+            int op = random.nextInt(3);
+            if (op == 0 || bank.getQuestionCount() == 0) {
+                bank.addQuestion(question(bank.getNextAvailableId(), difficulties[random.nextInt(4)]));
+            } else {
+                List<Question> all = bank.getAllQuestions();
+                int id = all.get(random.nextInt(all.size())).getId();
+                if (op == 1) {
+                    bank.updateQuestion(question(id, difficulties[random.nextInt(4)]));
+                } else {
+                    bank.deleteQuestion(id);
+                }
+            }
+
+            if (step % 250 == 0) assertIndexMatches(bank, random);
+        }
+        assertIndexMatches(bank, random);
+    }
+
+    /**
+     * UT-08-TC02: Draws cover the whole bucket
+     */
+    @Test
+    public void testRandomQuestionCoversBucket() {
+        QuestionBank bank = new QuestionBank();
+        for (int id = 1; id <= 40; id++) {
+            bank.addQuestion(question(id, id % 2 == 0 ? QuestionDifficulty.EASY : QuestionDifficulty.HARD));
+        }
+
+        Random random = new Random(9L);
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            Question q = bank.randomQuestion(QuestionDifficulty.EASY, random);
+            assertEquals(QuestionDifficulty.EASY, q.getDifficulty());
+            seen.add(q.getId());
+        }
+        assertEquals(20, seen.size());
+    }
+
+    /**
+     * UT-08-TC03: Empty difficulty
+     */
+    @Test
+    public void testEmptyDifficulty() {
+        QuestionBank bank = new QuestionBank();
+        assertNull(bank.randomQuestion(QuestionDifficulty.EXPERT, new Random()));
+
+        bank.addQuestion(question(1, QuestionDifficulty.EXPERT));
+        bank.deleteQuestion(1);
+        assertNull(bank.randomQuestion(QuestionDifficulty.EXPERT, new Random()));
+        assertEquals(0, bank.getQuestionCount(QuestionDifficulty.EXPERT));
+    }
+
+    /**
+     * UT-08-TC04: Loading replaces the index
+     */
+    @Test
+    public void testReloadRebuildsIndex() throws Exception {
+        QuestionBank bank = new QuestionBank();
+        bank.addQuestion(question(99, QuestionDifficulty.EASY));
+
+        String csv = CSV_HEADER
+                + "1,Q1,1,a,b,c,d,A\n"
+                + "2,Q2,2,a,b,c,d,B\n"
+                + "3,Q3,2,a,b,c,d,C\n";
+        bank.loadFromInputStream(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, bank.getQuestionCount(QuestionDifficulty.EASY));
+        assertEquals(1, bank.randomQuestion(QuestionDifficulty.EASY, new Random()).getId());
+        assertEquals(2, bank.getQuestionCount(QuestionDifficulty.MEDIUM));
+    }
+
+    // ==================== HELPERS ====================
+
+    private static void assertIndexMatches(QuestionBank bank, Random random) {
+        for (QuestionDifficulty d : QuestionDifficulty.values()) {
+            Set<Integer> expected = bank.getAllQuestions().stream()
+                    .filter(q -> q.getDifficulty() == d)
+                    .map(Question::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(d.toString(), expected.size(), bank.getQuestionCount(d));
+
+            for (int i = 0; i < 50; i++) {
+                Question q = bank.randomQuestion(d, random);
+                if (expected.isEmpty()) {
+                    assertNull(q);
+                } else {
+                    assertTrue(expected.contains(q.getId()));
+                    assertSame(bank.getQuestionById(q.getId()), q);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package test;
+
+import minesweeper.model.Question;
+import minesweeper.model.QuestionBank;
+import minesweeper.model.QuestionDifficulty;
+import org.junit.*;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static test.QuestionFixtures.*;
+
+/**
+ * UT-12: Unit Test for the streaming CSV reader of QuestionBank
+ *
+ * Test Case Overview – QuestionCsvStreamingTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-12-TC01   | testQuotedMultilineFields      | Line breaks and "" inside quotes, row numbers       |
+ * | UT-12-TC02   | testSaveAndReloadRoundTrip     | Whatever saveToFile writes loads back the same      |
+ * | UT-12-TC03   | testLineEndingsAndStrayQuotes  | CRLF / CR, BOM, quotes inside unquoted text         |
+ * | UT-12-TC04   | testBufferBoundaries           | Records across refills and longer than the buffer   |
+ * | UT-12-TC05   | testMillionRows                | A million rows load in a few seconds                |
+ */
+public class QuestionCsvStreamingTest {
+
+    /**
+     * UT-12-TC01: Quoted fields over several lines
+     */
+    @Test
+    public void testQuotedMultilineFields() throws Exception {
+        QuestionBank bank = load(CSV_HEADER
+                + "1,\"Line one\nline two\",1,a,b,c,d,A\n"
+                + "2,\"He said \"\"hi\"\", then left\",2,\"x, y\",b,c,d,B\n"
+                + "3,,1,a,b,c,d,A\n");
+
+        assertEquals(2, bank.getQuestionCount());
+        assertEquals("Line one\nline two", bank.getQuestionById(1).getText());
+        assertEquals("He said \"hi\", then left", bank.getQuestionById(2).getText());
+        assertEquals("x, y", bank.getQuestionById(2).getOptionA());
+        // the row after a two-line record starts on line 5
+        assertEquals(List.of("Row 5: Question cannot be empty."), bank.getParseErrors());
+    }
+
+    /**
+     * UT-12-TC02: saveToFile / load round trip
+     */
+    @Test
+    public void testSaveAndReloadRoundTrip() throws Exception {
+        QuestionBank bank = new QuestionBank();
+        bank.addQuestion(new Question(1, "Commas, \"quotes\" and\nnew lines", "a,b", "\"c\"", "d", "e",
+                'B', QuestionDifficulty.HARD));
+        bank.addQuestion(new Question(2, "Plain", "a", "b", "c", "d", 'D', QuestionDifficulty.EASY));
+
+        Path file = Files.createTempFile("questions", ".csv");
+        try {
+            bank.saveToFile(file.toString());
+            QuestionBank reloaded = new QuestionBank();
+            try (InputStream in = new FileInputStream(file.toFile())) {
+                reloaded.loadFromInputStream(in);
+            }
+            assertEquals(2, reloaded.getQuestionCount());
+            for (Question q : bank.getAllQuestions()) {
+                Question r = reloaded.getQuestionById(q.getId());
+                assertEquals(q.getText(), r.getText());
+                assertEquals(q.getOptionA(), r.getOptionA());
+                assertEquals(q.getOptionB(), r.getOptionB());
+                assertEquals(q.getCorrectOption(), r.getCorrectOption());
+                assertEquals(q.getDifficulty(), r.getDifficulty());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * UT-12-TC03: Line endings, BOM, stray quotes
+     */
+    @Test
+    public void testLineEndingsAndStrayQuotes() throws Exception {
+        QuestionBank bank = load("\uFEFF" + CSV_HEADER.replace("\n", "\r\n")
+                + "1,What does \"ls\" do?,1,a,b,c,d,A\r\n"
+                + "\r\n"
+                + "2,  Spaced  ,2,a,b,c,d,b\r"
+                + "x,Bad id,1,a,b,c,d,A\r\n"
+                + "3, \"quoted, after blank\" ,3,a,b,c,d,C");
+
+        assertEquals(3, bank.getQuestionCount());
+        assertEquals("What does \"ls\" do?", bank.getQuestionById(1).getText());
+        assertEquals("Spaced", bank.getQuestionById(2).getText());
+        assertEquals('B', bank.getQuestionById(2).getCorrectOption());
+        assertEquals("quoted, after blank", bank.getQuestionById(3).getText());
+        assertEquals(List.of("Row 5: Invalid ID format 'x'. Expected a positive integer."), bank.getParseErrors());
+    }
+
+    /**
+     * UT-12-TC04: Buffer refills and growth
+     */
+    @Test
+    public void testBufferBoundaries() throws Exception {
+        String longText = "word ".repeat(40_000).trim(); // longer than the read buffer
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int id = 1; id <= 20_000; id++) {
+            String text = id == 7_777 ? longText : "Question number " + id + " spans \"\"? no";
+            csv.append(id).append(",\"").append(text.replace("\"", "\"\"")).append("\",")
+                    .append(1 + id % 4).append(",a,b,c,d,A\n");
+        }
+
+        QuestionBank bank = load(csv);
+        assertEquals(20_000, bank.getQuestionCount());
+        assertTrue(bank.getParseErrors().isEmpty());
+        assertEquals(longText, bank.getQuestionById(7_777).getText());
+        for (int id = 1; id <= 20_000; id += 997) {
+            if (id != 7_777) assertEquals("Question number " + id + " spans \"\"? no", bank.getQuestionById(id).getText());
+        }
+    }
+
+    /**
+     * UT-12-TC05: One million rows
+     */
+    @Test(timeout = 60000)
+    public void testMillionRows() throws Exception {
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int id = 1; id <= 1_000_000; id++) {
+            csv.append(id).append(",What is ").append(id).append(" squared?,").append(1 + id % 4)
+                    .append(",\"one, two\",b,c,d,C\n");
+        }
+
+        QuestionBank bank = load(csv);
+        assertEquals(1_000_000, bank.getQuestionCount());
+        assertEquals("one, two", bank.getQuestionById(1).getOptionA());
+    }
+}
@@ -0,0 +1,54 @@
+package test;
+
+import minesweeper.model.Question;
+import minesweeper.model.QuestionBank;
+import minesweeper.model.QuestionDifficulty;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Questions, question texts and CSV banks shared by the QuestionBank tests.
+ */
+final class QuestionFixtures {
+
+    static final String CSV_HEADER = "ID,Question,Difficulty,A,B,C,D,Correct Answer\n";
+
+    /** Vocabulary of {@link #sentence}. */
+    static final String[] WORDS = {
+            "what", "is", "the", "largest", "planet", "in", "solar", "system", "which", "river",
+            "longest", "world", "who", "wrote", "novel", "capital", "of", "france", "how", "many",
+            "legs", "does", "spider", "have", "year", "did", "war", "end", "element", "symbol",
+            "ocean", "mountain", "painter", "king", "queen", "city", "island", "language", "number"
+    };
+
+    private QuestionFixtures() {
+    }
+
+    static Question question(int id, String text, QuestionDifficulty difficulty) {
+        return new Question(id, text, "a", "b", "c", "d", 'A', difficulty);
+    }
+
+    static Question question(int id, QuestionDifficulty difficulty) {
+        return question(id, "Question " + id, difficulty);
+    }
+
+    /** A question-like text of 4 to 11 random WORDS, ending with '?'. */
+    static String sentence(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int words = 4 + random.nextInt(8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.append('?').toString();
+    }
+
+    /** A new bank loaded from CSV text (header included). */
+    static QuestionBank load(CharSequence csv) throws QuestionBank.CSVParseException {
+        QuestionBank bank = new QuestionBank();
+        bank.loadFromInputStream(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        return bank;
+    }
+}
@@ -0,0 +1,146 @@
+package test;
+
+import minesweeper.model.Question;
+import minesweeper.model.QuestionBank;
+import minesweeper.model.QuestionDifficulty;
+import minesweeper.model.QuestionSampler;
+import org.junit.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static test.QuestionFixtures.*;
+
+/**
+ * UT-09: Unit Test for QuestionSampler
+ *
+ * Test Case Overview – QuestionSamplerTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-09-TC01   | testNoRepeatWithinRound        | Every question once before any comes back           |
+ * | UT-09-TC02   | testBankChangeRestartsCursor   | Added / deleted questions are picked up             |
+ * | UT-09-TC03   | testPrefersUnseenAcrossSessions| A new session avoids the player's recent questions  |
+ * | UT-09-TC04   | testRecentQuestionsBounded     | Per-player memory keeps only the last N questions   |
+ * | UT-09-TC05   | testLargeBankDrawsAreCheap     | 1M-question bank: draws do not scan the bank        |
+ */
+public class QuestionSamplerTest {
+
+    /**
+     * UT-09-TC01: No repeats within a round
+     */
+    @Test
+    public void testNoRepeatWithinRound() {
+        QuestionBank bank = bank(50, 37);
+        QuestionSampler sampler = bank.newSampler(new Random(1L));
+
+        for (int round = 0; round < 3; round++) {
+            Set<Integer> seen = new HashSet<>();
+            for (int i = 0; i < 37; i++) {
+                Question q = sampler.next(QuestionDifficulty.HARD);
+                assertEquals(QuestionDifficulty.HARD, q.getDifficulty());
+                assertTrue("repeated " + q.getId() + " in round " + round, seen.add(q.getId()));
+            }
+            assertEquals(0, sampler.remaining(QuestionDifficulty.HARD));
+        }
+        assertNull(sampler.next(QuestionDifficulty.EXPERT));
+    }
+
+    /**
+     * UT-09-TC02: Bank changes
+     */
+    @Test
+    public void testBankChangeRestartsCursor() {
+        QuestionBank bank = bank(10, 10);
+        QuestionSampler sampler = bank.newSampler(new Random(2L));
+        for (int i = 0; i < 5; i++) sampler.next(QuestionDifficulty.HARD);
+
+        bank.addQuestion(question(1000, QuestionDifficulty.HARD));
+        bank.deleteQuestion(bank.getAllQuestions().get(0).getId());
+
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < bank.getQuestionCount(QuestionDifficulty.HARD); i++) {
+            Question q = sampler.next(QuestionDifficulty.HARD);
+            assertNotNull(bank.getQuestionById(q.getId()));
+            assertTrue(seen.add(q.getId()));
+        }
+        assertTrue(seen.contains(1000));
+    }
+
+    /**
+     * UT-09-TC03: Per-player memory across sessions
+     */
+    @Test
+    public void testPrefersUnseenAcrossSessions() {
+        QuestionBank bank = bank(0, 60);
+        Set<Integer> firstGame = new HashSet<>();
+        QuestionSampler first = bank.newSampler("alice", new Random(3L));
+        for (int i = 0; i < 20; i++) firstGame.add(first.next(QuestionDifficulty.HARD).getId());
+
+        int repeats = 0;
+        QuestionSampler second = bank.newSampler("alice", new Random(4L));
+        for (int i = 0; i < 20; i++) {
+            if (firstGame.contains(second.next(QuestionDifficulty.HARD).getId())) repeats++;
+        }
+        // Without memory about a third would repeat; with it very few do
+        assertTrue("repeats: " + repeats, repeats <= 2);
+
+        // Another player has no memory of alice's games
+        int bobRepeats = 0;
+        QuestionSampler bob = bank.newSampler("bob", new Random(4L));
+        for (int i = 0; i < 20; i++) {
+            if (firstGame.contains(bob.next(QuestionDifficulty.HARD).getId())) bobRepeats++;
+        }
+        assertTrue(bobRepeats > repeats);
+    }
+
+    /**
+     * UT-09-TC04: Bounded memory
+     */
+    @Test
+    public void testRecentQuestionsBounded() {
+        QuestionSampler.RecentQuestions recent = new QuestionSampler.RecentQuestions(3);
+        recent.add(1);
+        recent.add(2);
+        recent.add(1);
+        recent.add(4); // forgets the first 1, the second one is still there
+        assertTrue(recent.contains(1));
+        assertFalse(recent.contains(2) && recent.contains(3));
+        recent.add(5);
+        recent.add(6);
+        assertFalse(recent.contains(1));
+        assertEquals(3, recent.size());
+    }
+
+    /**
+     * UT-09-TC05: Large bank
+     */
+    @Test(timeout = 20000)
+    public void testLargeBankDrawsAreCheap() throws Exception {
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int id = 1; id <= 1_000_000; id++) {
+            csv.append(id).append(",Q").append(id).append(",3,a,b,c,d,A\n");
+        }
+        QuestionBank bank = load(csv);
+        QuestionSampler sampler = bank.newSampler("heavy", new Random(5L));
+
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            assertTrue(seen.add(sampler.next(QuestionDifficulty.HARD).getId()));
+        }
+        assertEquals(800_000, sampler.remaining(QuestionDifficulty.HARD));
+    }
+
+    // ==================== HELPERS ====================
+
+    private static QuestionBank bank(int easy, int hard) {
+        QuestionBank bank = new QuestionBank();
+        int id = 1;
+        for (int i = 0; i < easy; i++) bank.addQuestion(question(id++, QuestionDifficulty.EASY));
+        for (int i = 0; i < hard; i++) bank.addQuestion(question(id++, QuestionDifficulty.HARD));
+        return bank;
+    }
+
+}
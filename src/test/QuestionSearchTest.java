@@ -0,0 +1,156 @@
+package test;
+
+import minesweeper.model.Question;
+import minesweeper.model.QuestionBank;
+import minesweeper.model.QuestionDifficulty;
+import org.junit.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static test.QuestionFixtures.*;
+
+/**
+ * UT-11: Unit Test for question search in QuestionBank
+ *
+ * Test Case Overview – QuestionSearchTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-11-TC01   | testWordsAndPrefixes           | All words must match, the last one may be partial   |
+ * | UT-11-TC02   | testOptionsAndRanking          | Options are searched, text matches rank first       |
+ * | UT-11-TC03   | testMatchesFullScan            | Index agrees with checking every question           |
+ * | UT-11-TC04   | testEmptyQueryKeepsOrder       | No words: whole bank (per difficulty) in bank order |
+ * | UT-11-TC05   | testLargeBank                  | Searches over 100k questions stay interactive       |
+ */
+public class QuestionSearchTest {
+
+    /**
+     * UT-11-TC01: AND of prefixes
+     */
+    @Test
+    public void testWordsAndPrefixes() {
+        QuestionBank bank = new QuestionBank();
+        bank.addQuestion(question(1, "What is the capital of France?", QuestionDifficulty.EASY));
+        bank.addQuestion(question(2, "What is the capital of Spain?", QuestionDifficulty.MEDIUM));
+        bank.addQuestion(question(3, "Which planet is largest?", QuestionDifficulty.EASY));
+
+        assertEquals(List.of(1, 2), ids(bank.searchQuestions("Capital", null)));
+        assertEquals(List.of(2), ids(bank.searchQuestions("capital sp", null)));
+        assertEquals(List.of(1, 3), ids(bank.searchQuestions("  w  ", QuestionDifficulty.EASY)));
+        assertEquals(List.of(), ids(bank.searchQuestions("capital planet", null)));
+
+        bank.updateQuestion(question(2, "Which river is longest?", QuestionDifficulty.MEDIUM));
+        bank.deleteQuestion(1);
+        bank.addQuestion(question(4, "Capital of Peru?", QuestionDifficulty.HARD));
+        assertEquals(List.of(4), ids(bank.searchQuestions("capital", null)));
+        assertEquals(List.of(2), ids(bank.searchQuestions("riv", null)));
+    }
+
+    /**
+     * UT-11-TC02: Options and ranking
+     */
+    @Test
+    public void testOptionsAndRanking() {
+        QuestionBank bank = new QuestionBank();
+        bank.addQuestion(new Question(1, "Which city hosts the Louvre?", "Paris", "Rome", "Oslo", "Bern",
+                'A', QuestionDifficulty.EASY));
+        bank.addQuestion(new Question(2, "Where is the Eiffel tower?", "Lyon", "Nice", "Paris", "Lille",
+                'C', QuestionDifficulty.EASY));
+        bank.addQuestion(new Question(3, "Paris is the capital of?", "France", "Italy", "Spain", "Chile",
+                'A', QuestionDifficulty.EASY));
+        bank.addQuestion(new Question(4, "Parisian cafés serve?", "Tea", "Coffee", "Both", "None",
+                'C', QuestionDifficulty.EASY));
+
+        assertEquals(List.of(3, 4, 1, 2), ids(bank.searchQuestions("paris", null)));
+        assertEquals(List.of(4), ids(bank.searchQuestions("café", null)));
+    }
+
+    /**
+     * UT-11-TC03: Same result as a full scan
+     */
+    @Test
+    public void testMatchesFullScan() {
+        Random random = new Random(11L);
+        QuestionBank bank = new QuestionBank();
+        for (int id = 1; id <= 500; id++) {
+            bank.addQuestion(question(id, sentence(random), QuestionDifficulty.values()[random.nextInt(4)]));
+        }
+
+        for (int i = 0; i < 300; i++) {
+            if (i % 10 == 0) bank.deleteQuestion(bank.getAllQuestions().get(random.nextInt(100)).getId());
+            if (i % 10 == 5) bank.addQuestion(question(1000 + i, sentence(random), QuestionDifficulty.HARD));
+
+            String w1 = WORDS[random.nextInt(WORDS.length)];
+            String w2 = WORDS[random.nextInt(WORDS.length)];
+            String query = w1 + " " + w2.substring(0, 1 + random.nextInt(w2.length()));
+            QuestionDifficulty difficulty = random.nextBoolean() ? null : QuestionDifficulty.values()[random.nextInt(4)];
+
+            Set<Integer> expected = bank.getAllQuestions().stream()
+                    .filter(q -> difficulty == null || q.getDifficulty() == difficulty)
+                    .filter(q -> matches(q, query))
+                    .map(Question::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(query, expected, Set.copyOf(ids(bank.searchQuestions(query, difficulty))));
+        }
+    }
+
+    /**
+     * UT-11-TC04: Empty query
+     */
+    @Test
+    public void testEmptyQueryKeepsOrder() {
+        QuestionBank bank = new QuestionBank();
+        bank.addQuestion(question(5, "Five?", QuestionDifficulty.EASY));
+        bank.addQuestion(question(2, "Two?", QuestionDifficulty.HARD));
+        bank.addQuestion(question(9, "Nine?", QuestionDifficulty.EASY));
+
+        assertEquals(List.of(5, 2, 9), ids(bank.searchQuestions("", null)));
+        assertEquals(List.of(5, 9), ids(bank.searchQuestions(null, QuestionDifficulty.EASY)));
+        assertEquals(List.of(5, 2, 9), ids(bank.searchQuestions(" ?! ", null)));
+    }
+
+    /**
+     * UT-11-TC05: 100k questions
+     */
+    @Test(timeout = 30000)
+    public void testLargeBank() throws Exception {
+        Random random = new Random(12L);
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int id = 1; id <= 100_000; id++) {
+            csv.append(id).append(',').append(sentence(random)).append(" code").append(id)
+                    .append(',').append(1 + random.nextInt(4)).append(",a,b,c,d,A\n");
+        }
+        QuestionBank bank = load(csv);
+        bank.searchQuestions("warm up", null);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 200; i++) {
+            int id = 1 + random.nextInt(100_000);
+            List<Question> found = bank.searchQuestions("code" + id, null);
+            assertEquals(id, found.get(0).getId());
+        }
+        long perSearchMicros = (System.nanoTime() - start) / 200 / 1000;
+        assertTrue("search took " + perSearchMicros + "us", perSearchMicros < 20_000);
+    }
+
+    // ==================== HELPERS ====================
+
+    private static boolean matches(Question q, String query) {
+        List<String> words = Arrays.asList((q.getText() + " " + q.getOptionA() + " " + q.getOptionB() + " "
+                + q.getOptionC() + " " + q.getOptionD()).toLowerCase().split("[^\\p{L}\\p{N}]+"));
+        for (String term : query.split(" ")) {
+            if (words.stream().noneMatch(w -> w.startsWith(term))) return false;
+        }
+        return true;
+    }
+
+    private static List<Integer> ids(List<Question> questions) {
+        return questions.stream().map(Question::getId).toList();
+    }
+
+}
@@ -0,0 +1,178 @@
+package test;
+
+import minesweeper.model.Question;
+import minesweeper.model.QuestionBank;
+import minesweeper.model.QuestionDifficulty;
+import minesweeper.model.SimilarityIndex;
+import org.junit.*;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static test.QuestionFixtures.*;
+
+/**
+ * UT-10: Unit Test for near-duplicate question detection
+ *
+ * Test Case Overview – QuestionSimilarityTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-10-TC01   | testBoundedDistance            | Banded distance equals full Levenshtein up to max   |
+ * | UT-10-TC02   | testIndexMatchesFullScan       | Index finds what comparing with every question finds|
+ * | UT-10-TC03   | testIndexFollowsCrud           | Added, updated, deleted questions are seen          |
+ * | UT-10-TC04   | testLargeBank                  | Checks against 100k questions stay interactive      |
+ */
+public class QuestionSimilarityTest {
+
+    /**
+     * UT-10-TC01: Bounded edit distance
+     */
+    @Test
+    public void testBoundedDistance() {
+        Random random = new Random(10L);
+        for (int i = 0; i < 5000; i++) {
+            String a = randomString(random, random.nextInt(12));
+            String b = random.nextBoolean() ? mutate(random, a, random.nextInt(4)) : randomString(random, random.nextInt(12));
+            int exact = levenshtein(a, b);
+            int max = random.nextInt(6);
+
+            int bounded = SimilarityIndex.boundedDistance(a, b, max);
+            if (exact <= max) {
+                assertEquals(a + " / " + b, exact, bounded);
+            } else {
+                assertTrue(a + " / " + b, bounded > max);
+            }
+        }
+        assertEquals(3, SimilarityIndex.boundedDistance("kitten", "sitting", 3));
+        assertEquals(0, SimilarityIndex.boundedDistance("", "", 0));
+        assertTrue(SimilarityIndex.boundedDistance("", "abc", 2) > 2);
+    }
+
+    /**
+     * UT-10-TC02: Same result as a full scan
+     */
+    @Test
+    public void testIndexMatchesFullScan() {
+        Random random = new Random(11L);
+        QuestionBank bank = new QuestionBank();
+        for (int id = 1; id <= 400; id++) {
+            String text = id > 200 && random.nextBoolean()
+                    ? mutate(random, bank.getQuestionById(1 + random.nextInt(200)).getText(), random.nextInt(6))
+                    : sentence(random);
+            bank.addQuestion(question(id, text, QuestionDifficulty.MEDIUM));
+        }
+
+        for (int i = 0; i < 400; i++) {
+            String base = bank.getQuestionById(1 + random.nextInt(400)).getText();
+            String query = i % 3 == 0 ? sentence(random) : mutate(random, base, random.nextInt(8));
+            int excludeId = i % 5 == 0 ? 1 + random.nextInt(400) : -1;
+
+            Question found = bank.findSimilarQuestion(query, 0.9, excludeId);
+            double best = bestSimilarity(bank, query, excludeId);
+            if (best > 0.9) {
+                assertNotNull("missed a match for: " + query, found);
+                assertEquals(query, best, similarity(found.getText(), query), 1e-12);
+                assertNotEquals(excludeId, found.getId());
+            } else {
+                assertNull(found);
+            }
+        }
+    }
+
+    /**
+     * UT-10-TC03: CRUD keeps the index current
+     */
+    @Test
+    public void testIndexFollowsCrud() {
+        QuestionBank bank = new QuestionBank();
+        bank.addQuestion(question(1, "What is the capital of France?", QuestionDifficulty.MEDIUM));
+        assertEquals(1, bank.findSimilarQuestion("what is the capital of france ", 0.9, -1).getId());
+        assertNull(bank.findSimilarQuestion("What is the capital of France?", 0.9, 1));
+
+        bank.addQuestion(question(2, "What is the capital of Spain?", QuestionDifficulty.MEDIUM));
+        assertEquals(2, bank.findSimilarQuestion("What is the capitol of Spain?", 0.9, -1).getId());
+
+        bank.updateQuestion(question(2, "How many legs does a spider have?", QuestionDifficulty.MEDIUM));
+        assertNull(bank.findSimilarQuestion("What is the capitol of Spain?", 0.9, -1));
+        assertEquals(2, bank.findSimilarQuestion("How many legs does a spider have", 0.9, -1).getId());
+
+        bank.deleteQuestion(1);
+        assertNull(bank.findSimilarQuestion("What is the capital of France?", 0.9, -1));
+    }
+
+    /**
+     * UT-10-TC04: 100k questions
+     */
+    @Test(timeout = 30000)
+    public void testLargeBank() throws Exception {
+        Random random = new Random(12L);
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        String[] texts = new String[100_001];
+        for (int id = 1; id <= 100_000; id++) {
+            texts[id] = sentence(random) + " #" + id;
+            csv.append(id).append(',').append(texts[id]).append(",2,a,b,c,d,A\n");
+        }
+        QuestionBank bank = load(csv);
+        bank.findSimilarQuestion("warm up", 0.9, -1);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            int id = 1 + random.nextInt(100_000);
+            Question found = bank.findSimilarQuestion(mutate(random, texts[id], 1), 0.9, -1);
+            assertNotNull(found);
+        }
+        long perCheckMillis = (System.nanoTime() - start) / 100 / 1_000_000;
+        assertTrue("check took " + perCheckMillis + "ms", perCheckMillis < 100);
+    }
+
+    // ==================== HELPERS ====================
+
+    private static double bestSimilarity(QuestionBank bank, String query, int excludeId) {
+        double best = 0;
+        for (Question q : bank.getAllQuestions()) {
+            if (q.getId() != excludeId) best = Math.max(best, similarity(q.getText(), query));
+        }
+        return best;
+    }
+
+    private static double similarity(String s1, String s2) {
+        String a = s1.trim().toLowerCase();
+        String b = s2.trim().toLowerCase();
+        int maxLen = Math.max(a.length(), b.length());
+        return maxLen == 0 ? 1.0 : 1.0 - ((double) levenshtein(a, b) / maxLen);
+    }
+
+    private static int levenshtein(String s1, String s2) {
+        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
+        for (int i = 0; i <= s1.length(); i++) dp[i][0] = i;
+        for (int j = 0; j <= s2.length(); j++) dp[0][j] = j;
+        for (int i = 1; i <= s1.length(); i++) {
+            for (int j = 1; j <= s2.length(); j++) {
+                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+                dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
+            }
+        }
+        return dp[s1.length()][s2.length()];
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) sb.append((char) ('a' + random.nextInt(3)));
+        return sb.toString();
+    }
+
+    private static String mutate(Random random, String text, int edits) {
+        StringBuilder sb = new StringBuilder(text);
+        for (int i = 0; i < edits; i++) {
+            int op = random.nextInt(3);
+            int pos = random.nextInt(sb.length() + 1);
+            char c = (char) ('a' + random.nextInt(26));
+            if (op == 0 || sb.length() == 0) sb.insert(pos, c);
+            else if (op == 1) sb.deleteCharAt(Math.min(pos, sb.length() - 1));
+            else sb.setCharAt(Math.min(pos, sb.length() - 1), c);
+        }
+        return sb.toString();
+    }
+
+}
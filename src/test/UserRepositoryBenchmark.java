@@ -0,0 +1,111 @@
+package test;
+
+import minesweeper.controller.UserRepository;
+import minesweeper.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Throughput benchmark for UserRepository (run main, not part of the suite).
+ *
+ * Each thread runs the login-screen mix against 100k accounts: 95% lookups,
+ * 5% read-modify-write updates under the per-user lock (what a rehash or a
+ * password reset does). Every thread count gets a warm-up round and then a
+ * measured round; with striped locks and the single writer queue the ops/s
+ * should grow with the thread count up to the number of cores.
+ *
+ * Usage: java test.UserRepositoryBenchmark [users] [seconds] [maxThreads]
+ */
+public class UserRepositoryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2])
+                : Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) * 2;
+
+        Path dir = Files.createTempDirectory("minesweeper_bench");
+        Path file = dir.resolve("UserData.json");
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < users; i++) {
+            json.append("  ").append(user(i, 0).toJson()).append(i < users - 1 ? ",\n" : "\n");
+        }
+        Files.write(file, json.append("]").toString().getBytes(StandardCharsets.UTF_8));
+
+        UserRepository repo = new UserRepository(file);
+        System.out.printf("%,d users, %d s per round, %d cores%n",
+                repo.size(), seconds, Runtime.getRuntime().availableProcessors());
+        System.out.println("threads        ops/s   speed-up");
+
+        double single = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            run(repo, users, threads, 1);                   // warm-up
+            double opsPerSecond = run(repo, users, threads, seconds);
+            if (threads == 1) single = opsPerSecond;
+            System.out.printf("%7d %12.0f %9.2fx%n", threads, opsPerSecond, opsPerSecond / single);
+        }
+
+        repo.flush();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    private static double run(UserRepository repo, int users, int threads, int seconds) throws Exception {
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long done = 0;
+                while ((done & 255) != 0 || System.nanoTime() < deadline[0]) {
+                    int id = random.nextInt(users);
+                    if (random.nextInt(100) < 95) {
+                        repo.find("user" + id);
+                    } else {
+                        Lock lock = repo.lockFor("user" + id);
+                        lock.lock();
+                        try {
+                            User u = repo.find("user" + id);
+                            repo.save(user(id, u.getPassword().length()));
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    done++;
+                }
+                ops.add(done);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        deadline[0] = begin + seconds * 1_000_000_000L;
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+        long elapsed = System.nanoTime() - begin;
+        repo.flush(); // queued writes count against the round that made them
+
+        return ops.sum() * 1e9 / Math.max(elapsed, System.nanoTime() - begin);
+    }
+
+    private static User user(int id, int generation) {
+        return new User("user" + id, ("pw" + id + "_" + generation).toCharArray(), "ANSWER", "Birth Month");
+    }
+}
@@ -0,0 +1,251 @@
+package test;
+
+import minesweeper.controller.UserRepository;
+import minesweeper.model.User;
+import org.json.simple.JSONArray;
+import org.json.simple.parser.JSONParser;
+import org.junit.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * UT-06: Unit Test for UserRepository
+ *
+ * Test Case Overview – UserRepositoryTest
+ *
+ * | Test Case ID | Method Name                    | Short Description                                   |
+ * |-------------:|--------------------------------|-----------------------------------------------------|
+ * | UT-06-TC01   | testAppendKeepsArrayFormat     | Saved users are appended, file stays a JSON array   |
+ * | UT-06-TC02   | testLaterRecordWinsAndCompacts | Updates replace users; stale records get compacted  |
+ * | UT-06-TC03   | testReloadOnExternalChange     | A file changed by someone else is read again        |
+ * | UT-06-TC04   | testTornTailIsRepaired         | A record cut off mid-append is dropped              |
+ * | UT-06-TC05   | testLargeUserBase              | Lookups over 100k accounts need no file access      |
+ * | UT-06-TC06   | testConcurrentRegistrations    | Parallel adds and updates lose and duplicate nothing|
+ * | UT-06-TC07   | testMalformedFileIsKept        | An unreadable file is moved aside, not overwritten  |
+ */
+public class UserRepositoryTest {
+
+    private Path dir;
+    private Path file;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("minesweeper_users");
+        file = dir.resolve("UserData.json");
+        Files.write(file, "[]".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * UT-06-TC01: Append format
+     */
+    @Test
+    public void testAppendKeepsArrayFormat() throws Exception {
+        UserRepository repo = new UserRepository(file);
+        repo.save(user("alice", "pw1"));
+        repo.save(user("bob", "pw \"2\""));
+        repo.flush();
+
+        String text = read();
+        assertEquals("[\n  " + user("alice", "pw1").toJson() + ",\n  "
+                + user("bob", "pw \"2\"").toJson() + "\n]", text);
+        assertEquals(2, ((JSONArray) new JSONParser().parse(text)).size());
+
+        UserRepository other = new UserRepository(file);
+        assertEquals("pw \"2\"", other.find("bob").getPassword());
+        assertNull(other.find("Bob"));
+        assertEquals(List.of("alice", "bob"), other.findAll().stream().map(User::getUsername).toList());
+    }
+
+    /**
+     * UT-06-TC02: Updates and compaction
+     */
+    @Test
+    public void testLaterRecordWinsAndCompacts() throws Exception {
+        UserRepository repo = new UserRepository(file);
+        repo.save(user("alice", "old"));
+        repo.save(user("alice", "new"));
+        repo.flush();
+
+        assertEquals(1, repo.size());
+        assertEquals("new", new UserRepository(file).find("alice").getPassword());
+
+        for (int i = 0; i < 300; i++) {
+            repo.save(user("alice", "pw" + i));
+        }
+        repo.flush();
+        JSONArray records = (JSONArray) new JSONParser().parse(read());
+        assertTrue("stale records should have been compacted", records.size() < 300);
+        assertEquals("pw299", new UserRepository(file).find("alice").getPassword());
+
+        repo.compact();
+        assertEquals(1, ((JSONArray) new JSONParser().parse(read())).size());
+    }
+
+    /**
+     * UT-06-TC03: External change
+     */
+    @Test
+    public void testReloadOnExternalChange() throws Exception {
+        UserRepository repo = new UserRepository(file);
+        repo.save(user("alice", "pw"));
+        repo.flush();
+        assertTrue(repo.exists("alice"));
+
+        Files.write(file, ("[\n  " + user("carol", "pw").toJson() + "\n]").getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+
+        assertFalse(repo.exists("alice"));
+        assertTrue(repo.exists("carol"));
+    }
+
+    /**
+     * UT-06-TC04: Torn tail
+     */
+    @Test
+    public void testTornTailIsRepaired() throws Exception {
+        UserRepository first = new UserRepository(file);
+        first.save(user("alice", "pw"));
+        first.flush();
+        String whole = read();
+        Files.write(file, (whole.substring(0, whole.length() - 2) + ",\n  {\"username\":\"bo")
+                .getBytes(StandardCharsets.UTF_8));
+
+        UserRepository repo = new UserRepository(file);
+        assertEquals(1, repo.size());
+        assertTrue(repo.exists("alice"));
+
+        repo.save(user("bob", "pw"));
+        repo.flush();
+        assertEquals(2, ((JSONArray) new JSONParser().parse(read())).size());
+    }
+
+    /**
+     * UT-06-TC05: 100k accounts
+     */
+    @Test(timeout = 20000)
+    public void testLargeUserBase() throws Exception {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < 100_000; i++) {
+            json.append("  ").append(user("user" + i, "pw" + i).toJson()).append(i < 99_999 ? ",\n" : "\n");
+        }
+        Files.write(file, json.append("]").toString().getBytes(StandardCharsets.UTF_8));
+
+        UserRepository repo = new UserRepository(file);
+        assertEquals(100_000, repo.size());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("pw" + (i * 7), repo.find("user" + (i * 7)).getPassword());
+        }
+        long perLookupMicros = (System.nanoTime() - start) / 10_000 / 1000;
+        assertTrue("lookup took " + perLookupMicros + "us", perLookupMicros < 1000);
+
+        repo.save(user("newcomer", "pw"));
+        repo.flush();
+        assertEquals(100_001, new UserRepository(file).size());
+    }
+
+    /**
+     * UT-06-TC06: Concurrent registrations
+     */
+    @Test(timeout = 20000)
+    public void testConcurrentRegistrations() throws Exception {
+        UserRepository repo = new UserRepository(file);
+        int threads = 8;
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    repo.add(user("own" + id + "_" + i, "pw"));
+                    if (repo.add(user("shared" + i, "pw" + id))) accepted.incrementAndGet();
+
+                    Lock lock = repo.lockFor("counter");
+                    lock.lock();
+                    try {
+                        User counter = repo.find("counter");
+                        int n = counter == null ? 0 : Integer.parseInt(counter.getPassword());
+                        repo.save(user("counter", String.valueOf(n + 1)));
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+        repo.flush();
+
+        assertEquals(500, accepted.get());
+        assertEquals(threads * 500 + 500 + 1, repo.size());
+        assertEquals(String.valueOf(threads * 500), repo.find("counter").getPassword());
+
+        UserRepository reloaded = new UserRepository(file);
+        assertEquals(repo.size(), reloaded.size());
+        assertEquals(String.valueOf(threads * 500), reloaded.find("counter").getPassword());
+    }
+
+    /**
+     * UT-06-TC07: Malformed file
+     */
+    @Test
+    public void testMalformedFileIsKept() throws Exception {
+        // a hand edit that left a value out
+        String broken = "[\n  " + user("alice", "pw").toJson() + ",\n  {\"username\": \"bob\", \"password\": }\n]";
+        Files.write(file, broken.getBytes(StandardCharsets.UTF_8));
+
+        UserRepository repo = new UserRepository(file);
+        assertTrue(repo.add(user("carol", "pw")));
+        repo.flush();
+
+        Path aside = file.resolveSibling(file.getFileName() + ".corrupt");
+        assertEquals(broken, new String(Files.readAllBytes(aside), StandardCharsets.UTF_8));
+        assertEquals(List.of("carol"), new UserRepository(file).findAll().stream().map(User::getUsername).toList());
+
+        // a second unreadable file does not replace the first copy
+        Files.write(file, "{".getBytes(StandardCharsets.UTF_8));
+        new UserRepository(file).save(user("dave", "pw"));
+        assertEquals(broken, new String(Files.readAllBytes(aside), StandardCharsets.UTF_8));
+        assertEquals("{", new String(Files.readAllBytes(file.resolveSibling(file.getFileName() + ".corrupt.1")),
+                StandardCharsets.UTF_8));
+    }
+
+    // ==================== HELPERS ====================
+
+    private String read() throws Exception {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    private static User user(String name, String password) {
+        return new User(name, password.toCharArray(), "ANSWER", "Birth Month");
+    }
+}